@@ -0,0 +1,48 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.github.kay9.dragonmounts.data.CrossBreedingManager;
+import com.github.kay9.dragonmounts.data.SyntheticCrosses;
+import com.github.kay9.dragonmounts.dragon.breed.BreedRegistry;
+import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.server.Bootstrap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CrossBreedingManager#getCrossBreed} for every pair of {@link SyntheticBreeds}.
+ * <br>
+ * A few pairs have a cross breed ({@link SyntheticCrosses}), in either order; most don't, as with the built-in breeds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrossBreedingBenchmark
+{
+    private RegistryAccess registryAccess;
+    private DragonBreed[] breeds;
+    private int next;
+
+    @Setup
+    public void setup()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        registryAccess = SyntheticBreeds.create();
+        SyntheticCrosses.load();
+        breeds = BreedRegistry.registry(registryAccess).stream().toArray(DragonBreed[]::new);
+    }
+
+    @Benchmark
+    public DragonBreed getCrossBreed()
+    {
+        int pair = next++ % (breeds.length * breeds.length);
+        return CrossBreedingManager.INSTANCE.getCrossBreed(breeds[pair / breeds.length], breeds[pair % breeds.length], registryAccess);
+    }
+}
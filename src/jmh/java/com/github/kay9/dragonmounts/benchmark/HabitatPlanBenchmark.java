@@ -0,0 +1,85 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
+import com.github.kay9.dragonmounts.dragon.egg.HatchableEggBlockEntity;
+import com.github.kay9.dragonmounts.habitats.HabitatPlan;
+import com.github.kay9.dragonmounts.habitats.HabitatSnapshot;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.Bootstrap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what an egg habitat update costs: capturing a detached {@link HabitatSnapshot} and scoring every breed of
+ * a {@link SyntheticBreeds} registry against it.
+ * <br>
+ * {@link #updateSync} and {@link #updateAsync} are the two branches of
+ * {@link HatchableEggBlockEntity#updateHabitat} against a {@link SyntheticWorld}, without the block entity around
+ * them (see the package docs for why). The async one is measured on the calling thread, since handing it to the
+ * background executor is the part that doesn't cost the server tick anything. {@code HabitatPlanTest} checks that
+ * every mode picks the right breed on the same terrain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HabitatPlanBenchmark
+{
+    private SyntheticLevel level;
+    private SyntheticWorld world;
+    private HabitatPlan plan;
+    private BlockPos pos;
+    private HabitatSnapshot snapshot;
+
+    @Setup
+    public void setup()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        SyntheticLevel.bindTags();
+
+        level = new SyntheticLevel();
+        var breeds = SyntheticBreeds.create();
+        world = new SyntheticWorld(level);
+        plan = HabitatPlan.get(breeds);
+        pos = new BlockPos(5, SyntheticLevel.SURFACE, 7);
+        snapshot = HabitatSnapshot.detach(level, pos, plan);
+    }
+
+    @Benchmark
+    public HabitatSnapshot capture()
+    {
+        return HabitatSnapshot.detach(level, pos, plan);
+    }
+
+    /**
+     * The snapshot remembers its tag counts, so after the first call this is the scoring alone.
+     */
+    @Benchmark
+    public DragonBreed score()
+    {
+        return plan.findBestBreed(snapshot, 0);
+    }
+
+    @Benchmark
+    public DragonBreed captureAndScore()
+    {
+        return plan.findBestBreed(HabitatSnapshot.detach(level, pos, plan), 0);
+    }
+
+    @Benchmark
+    public DragonBreed updateSync()
+    {
+        return plan.findBestBreed(world, pos, HatchableEggBlockEntity.MIN_HABITAT_POINTS);
+    }
+
+    @Benchmark
+    public DragonBreed updateAsync()
+    {
+        return plan.findBestBreed(HabitatSnapshot.detach(world, pos, plan), HatchableEggBlockEntity.MIN_HABITAT_POINTS);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.github.kay9.dragonmounts.habitats.Neighborhood;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.tags.FluidTags;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the stream based neighborhood scans that NearbyBlocksHabitat and FluidHabitat used to do
+ * against {@link Neighborhood}. Run with the gc profiler to see the allocations per call.
+ * <br>
+ * {@code interior} neighborhoods sit inside one chunk and are read straight out of its sections;
+ * {@code chunk_edge} ones span two chunks and take the cursor fallback.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NeighborhoodScanBenchmark
+{
+    @Param({"interior", "chunk_edge"})
+    public String position;
+
+    private SyntheticLevel level;
+    private BlockPos pos;
+
+    @Setup
+    public void setup()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        SyntheticLevel.bindTags();
+
+        level = new SyntheticLevel();
+        pos = new BlockPos(position.equals("interior")? 5 : 16, SyntheticLevel.SURFACE, 7);
+    }
+
+    @Benchmark
+    public long streamBlocks()
+    {
+        return BlockPos.betweenClosedStream(pos.offset(1, 1, 1), pos.offset(-1, -1, -1))
+                .filter(p -> level.getBlockState(p).is(BlockTags.DIRT))
+                .count();
+    }
+
+    @Benchmark
+    public int scanBlocks()
+    {
+        return Neighborhood.countBlocks(level, pos, BlockTags.DIRT);
+    }
+
+    @Benchmark
+    public long streamFluids()
+    {
+        return BlockPos.betweenClosedStream(pos.offset(1, 1, 1), pos.offset(-1, -1, -1))
+                .filter(p -> level.getFluidState(p).is(FluidTags.WATER))
+                .count();
+    }
+
+    @Benchmark
+    public int scanFluids()
+    {
+        return Neighborhood.countFluids(level, pos, FluidTags.WATER);
+    }
+}
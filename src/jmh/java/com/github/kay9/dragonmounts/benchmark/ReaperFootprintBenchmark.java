@@ -0,0 +1,81 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.github.kay9.dragonmounts.abilities.ReaperStepAbility;
+import com.github.kay9.dragonmounts.util.TagBitsets;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+/**
+ * Measures the lookups a reaper footprint makes on every move: the four footprint positions around an adult dragon,
+ * checked against the reaper tags the way {@code ReaperStepAbility.placeFootprint} does, with {@link TagBitsets}
+ * against plain {@link BlockState#is(TagKey)}.
+ * <br>
+ * The dragon walks along the surface so the footprints land on grass, ferns, saplings and bare ground alike.
+ * Placing the footprint itself needs a server level, so only the lookups are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReaperFootprintBenchmark
+{
+    private static final int STEPS = 256;
+
+    private SyntheticLevel level;
+    private int step;
+
+    @Setup
+    public void setup()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        SyntheticLevel.bindTags();
+        TagBitsets.rebuild(List.of(ReaperStepAbility.PLANT_DEATH_TAG, ReaperStepAbility.PLANT_DESTRUCTION_TAG, ReaperStepAbility.REAPER_TRANSFORM), List.of());
+
+        level = new SyntheticLevel();
+    }
+
+    @Benchmark
+    public int stateIs()
+    {
+        return footprints(BlockState::is);
+    }
+
+    @Benchmark
+    public int tagBitsets()
+    {
+        return footprints(TagBitsets::is);
+    }
+
+    /**
+     * @return how many of the footprints would do something
+     */
+    private int footprints(BiPredicate<BlockState, TagKey<Block>> is)
+    {
+        int s = step++ % STEPS;
+        double x = s + 0.5, y = SyntheticLevel.SURFACE + 1, z = (s * 7 & 63) + 0.5;
+        float scale = 1;
+
+        int hits = 0;
+        for (int i = 0; i < 4; i++)
+        {
+            var pos = new BlockPos((int) (x + (i % 2 * 2 - 1) * scale), (int) y, (int) (z + (i / 2f % 2 * 2 - 1) * scale));
+            var steppingOn = level.getBlockState(pos);
+            if (is.test(steppingOn, ReaperStepAbility.PLANT_DEATH_TAG) || is.test(steppingOn, ReaperStepAbility.PLANT_DESTRUCTION_TAG)
+                    || is.test(level.getBlockState(pos.below()), ReaperStepAbility.REAPER_TRANSFORM))
+                hits++;
+        }
+        return hits;
+    }
+}
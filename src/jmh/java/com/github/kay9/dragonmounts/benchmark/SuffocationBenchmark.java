@@ -0,0 +1,73 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import com.github.kay9.dragonmounts.util.DMLUtil;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.BooleanOp;
+import net.minecraft.world.phys.shapes.Shapes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the stream based suffocation check {@code TameableDragon.isInWall} used to do against
+ * {@link DMLUtil#isSuffocating}, for an adult dragon's bounding box.
+ * <br>
+ * {@code air} has nothing to find; {@code surface} stands on the ground among plants, so every block is read and
+ * none suffocate; {@code buried} is found on the first block. The recheck skip in isInWall needs a live dragon,
+ * so only the scan itself is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuffocationBenchmark
+{
+    @Param({"air", "surface", "buried"})
+    public String position;
+
+    private SyntheticLevel level;
+    private AABB box;
+    private double inset;
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+    @Setup
+    public void setup()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        level = new SyntheticLevel();
+        int y = switch (position)
+        {
+            case "air" -> SyntheticLevel.SURFACE + 20;
+            case "surface" -> SyntheticLevel.SURFACE + 1;
+            default -> SyntheticLevel.SURFACE - 20;
+        };
+        float half = TameableDragon.BASE_WIDTH / 2;
+        box = new AABB(8.5 - half, y, 8.5 - half, 8.5 + half, y + TameableDragon.BASE_HEIGHT, 8.5 + half);
+        inset = TameableDragon.BASE_WIDTH * 0.2f;
+    }
+
+    @Benchmark
+    public boolean stream()
+    {
+        var collider = box.deflate(inset);
+        return BlockPos.betweenClosedStream(collider).anyMatch(pos ->
+        {
+            var state = level.getBlockState(pos);
+            return !state.isAir() && state.isSuffocating(level, pos) && Shapes.joinIsNotEmpty(state.getCollisionShape(level, pos).move(pos.getX(), pos.getY(), pos.getZ()), Shapes.create(collider), BooleanOp.AND);
+        });
+    }
+
+    @Benchmark
+    public boolean scan()
+    {
+        return DMLUtil.isSuffocating(level, box, inset, cursor);
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.github.kay9.dragonmounts.DragonMountsLegacy;
+import com.github.kay9.dragonmounts.data.providers.DragonBreedProvider;
+import com.github.kay9.dragonmounts.dragon.breed.BreedRegistry;
+import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
+import com.github.kay9.dragonmounts.habitats.*;
+import com.mojang.datafixers.util.Either;
+import com.mojang.serialization.Lifecycle;
+import net.minecraft.core.HolderSet;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.tags.FluidTags;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A breed registry shaped like the built-in one, for benchmarks that score or look up breeds.
+ * <br>
+ * Habitats are limited to what {@link SyntheticLevel} can answer: tags bound by {@link SyntheticLevel#bindTags()},
+ * light, and height. Dragon breath needs entities, which it doesn't have.
+ */
+public class SyntheticBreeds
+{
+    public static RegistryAccess create()
+    {
+        var registry = new MappedRegistry<>(BreedRegistry.REGISTRY_KEY, Lifecycle.stable());
+        register(registry, "aether", new HeightHabitat(3, false, 200));
+        register(registry, "fire", new NearbyBlocksHabitat(1, BlockTags.DIRT), new FluidHabitat(3, FluidTags.LAVA));
+        register(registry, "forest", new NearbyBlocksHabitat(0.5f, BlockTags.DIRT), new LightHabitat(2, false, 10));
+        register(registry, "ghost", new PickyHabitat(List.of(new HeightHabitat(1, false, 0), new LightHabitat(2, true, 3))));
+        register(registry, "ice", new NearbyBlocksHabitat(0.5f, BlockTags.ICE));
+        register(registry, "nether", new NearbyBlocksHabitat(0.5f, BlockTags.BASE_STONE_NETHER), new FluidHabitat(1, FluidTags.LAVA));
+        register(registry, "water", new FluidHabitat(1f, FluidTags.WATER), new NearbyBlocksHabitat(0.5f, BlockTags.SAND));
+        registry.freeze();
+        return new RegistryAccess.ImmutableRegistryAccess(List.of(registry));
+    }
+
+    private static void register(MappedRegistry<DragonBreed> registry, String name, Habitat... habitats)
+    {
+        var breed = DragonBreedProvider.builtIn(0, 0, Optional.empty(), Map.of(), List.of(), List.of(habitats), HolderSet.direct(), Optional.empty(), Either.left(0));
+        Registry.register(registry, DragonMountsLegacy.id(name), breed);
+    }
+}
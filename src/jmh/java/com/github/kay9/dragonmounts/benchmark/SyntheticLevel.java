@@ -0,0 +1,318 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.github.kay9.dragonmounts.abilities.ReaperStepAbility;
+import com.mojang.serialization.Lifecycle;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.*;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.tags.FluidTags;
+import net.minecraft.util.valueproviders.UniformInt;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.flag.FeatureFlagSet;
+import net.minecraft.world.flag.FeatureFlags;
+import net.minecraft.world.level.*;
+import net.minecraft.world.level.biome.*;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.border.WorldBorder;
+import net.minecraft.world.level.chunk.*;
+import net.minecraft.world.level.dimension.BuiltinDimensionTypes;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.level.lighting.LightChunk;
+import net.minecraft.world.level.lighting.LightChunkGetter;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * A lightweight, in-memory stand-in for a level with synthetic terrain, so hot paths can be measured
+ * without launching a server.
+ * <br>
+ * Terrain is a flat stone world capped with grass at {@link #SURFACE}, with scattered dirt, water and magma
+ * so habitat checks have something to find, and the odd tuft of grass on top. Chunks are real {@link ProtoChunk}s,
+ * generated on first access, so anything reading chunk sections directly takes the same path it would in a level.
+ * <br>
+ * Everything is plains, the dimension is shaped like the overworld, and light is derived from the terrain:
+ * full sky light above the surface, none below it, and no block light.
+ */
+public class SyntheticLevel implements LevelReader
+{
+    public static final int SURFACE = 64;
+
+    private final WorldBorder border = new WorldBorder();
+    private final Long2ObjectOpenHashMap<ProtoChunk> chunks = new Long2ObjectOpenHashMap<>();
+    private final Registry<Biome> biomes = createBiomes();
+    private final RegistryAccess registryAccess = new RegistryAccess.ImmutableRegistryAccess(List.of(biomes));
+    private final Holder<Biome> plains = biomes.getHolderOrThrow(Biomes.PLAINS);
+    private final BiomeManager biomeManager = new BiomeManager(this, 0);
+    private final DimensionType dimensionType = new DimensionType(OptionalLong.empty(), true, false, false, true, 1, true, false,
+            -64, 384, 384, BlockTags.INFINIBURN_OVERWORLD, BuiltinDimensionTypes.OVERWORLD_EFFECTS, 0,
+            new DimensionType.MonsterSettings(false, true, UniformInt.of(0, 7), 0));
+    private final LevelLightEngine lightEngine = new LevelLightEngine(new LightChunkGetter()
+    {
+        @Override
+        public LightChunk getChunkForLighting(int x, int z)
+        {
+            return getChunk(x, z);
+        }
+
+        @Override
+        public BlockGetter getLevel()
+        {
+            return SyntheticLevel.this;
+        }
+    }, false, false); // nothing to propagate; brightness is answered by the level below
+
+    /**
+     * Tags aren't loaded without a server, so bind the few the benchmarks check against ourselves.
+     */
+    public static void bindTags()
+    {
+        BuiltInRegistries.BLOCK.bindTags(Map.of(
+                BlockTags.DIRT, List.of(Blocks.DIRT.builtInRegistryHolder(), Blocks.GRASS_BLOCK.builtInRegistryHolder()),
+                ReaperStepAbility.PLANT_DEATH_TAG, List.of(Blocks.GRASS.builtInRegistryHolder(), Blocks.FERN.builtInRegistryHolder()),
+                ReaperStepAbility.PLANT_DESTRUCTION_TAG, List.of(Blocks.OAK_SAPLING.builtInRegistryHolder()),
+                ReaperStepAbility.REAPER_TRANSFORM, List.of(Blocks.DIRT.builtInRegistryHolder(), Blocks.GRASS_BLOCK.builtInRegistryHolder())));
+        BuiltInRegistries.FLUID.bindTags(Map.of(
+                FluidTags.WATER, List.of(Fluids.WATER.builtInRegistryHolder(), Fluids.FLOWING_WATER.builtInRegistryHolder()),
+                FluidTags.LAVA, List.of(Fluids.LAVA.builtInRegistryHolder(), Fluids.FLOWING_LAVA.builtInRegistryHolder())));
+    }
+
+    /**
+     * The terrain itself; what chunks are generated from.
+     */
+    public static BlockState generate(int x, int y, int z)
+    {
+        if (y > SURFACE + 1) return Blocks.AIR.defaultBlockState();
+
+        int hash = (x * 73428767) ^ (z * 912931);
+        if (y == SURFACE + 1) return switch (hash & 31)
+        {
+            case 4, 5 -> Blocks.GRASS.defaultBlockState();
+            case 6 -> Blocks.FERN.defaultBlockState();
+            case 7 -> Blocks.OAK_SAPLING.defaultBlockState();
+            default -> Blocks.AIR.defaultBlockState();
+        };
+
+        hash ^= y * 42317861;
+        if (y == SURFACE) return switch (hash & 15)
+        {
+            case 0 -> Blocks.WATER.defaultBlockState();
+            case 1 -> Blocks.MAGMA_BLOCK.defaultBlockState();
+            case 2, 3 -> Blocks.DIRT.defaultBlockState();
+            default -> Blocks.GRASS_BLOCK.defaultBlockState();
+        };
+        return (hash & 7) == 0? Blocks.DIRT.defaultBlockState() : Blocks.STONE.defaultBlockState();
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos)
+    {
+        if (isOutsideBuildHeight(pos)) return Blocks.VOID_AIR.defaultBlockState();
+        return getChunk(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())).getBlockState(pos);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos)
+    {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos)
+    {
+        return null;
+    }
+
+    @Override
+    public ProtoChunk getChunk(int x, int z)
+    {
+        long key = ChunkPos.asLong(x, z);
+        var chunk = chunks.get(key);
+        if (chunk == null) chunks.put(key, chunk = generateChunk(new ChunkPos(x, z)));
+        return chunk;
+    }
+
+    @Override
+    public ChunkAccess getChunk(int x, int z, ChunkStatus status, boolean load)
+    {
+        return getChunk(x, z);
+    }
+
+    private ProtoChunk generateChunk(ChunkPos pos)
+    {
+        var chunk = new ProtoChunk(pos, UpgradeData.EMPTY, this, biomes, null);
+        for (int y = getMinBuildHeight(); y <= SURFACE + 1; y++)
+        {
+            var section = chunk.getSection(chunk.getSectionIndex(y));
+            for (int x = 0; x < 16; x++)
+                for (int z = 0; z < 16; z++)
+                {
+                    var state = generate(pos.getMinBlockX() + x, y, pos.getMinBlockZ() + z);
+                    if (!state.isAir()) section.setBlockState(x, y & 15, z, state, false);
+                }
+        }
+        chunk.setStatus(ChunkStatus.FULL);
+        return chunk;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean hasChunk(int x, int z)
+    {
+        return true;
+    }
+
+    @Override
+    public int getHeight(Heightmap.Types type, int x, int z)
+    {
+        return SURFACE + 1; // plants don't block motion
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return dimensionType.height();
+    }
+
+    @Override
+    public int getMinBuildHeight()
+    {
+        return dimensionType.minY();
+    }
+
+    @Override
+    public int getSeaLevel()
+    {
+        return SURFACE - 1;
+    }
+
+    @Override
+    public int getSkyDarken()
+    {
+        return 0;
+    }
+
+    @Override
+    public boolean isClientSide()
+    {
+        return false;
+    }
+
+    @Override
+    public WorldBorder getWorldBorder()
+    {
+        return border;
+    }
+
+    @Override
+    public BlockGetter getChunkForCollisions(int x, int z)
+    {
+        return getChunk(x, z);
+    }
+
+    @Override
+    public List<VoxelShape> getEntityCollisions(@Nullable Entity entity, AABB area)
+    {
+        return List.of();
+    }
+
+    @Override
+    public float getShade(Direction direction, boolean shade)
+    {
+        return 1;
+    }
+
+    @Override
+    public int getBlockTint(BlockPos pos, ColorResolver resolver)
+    {
+        return resolver.getColor(plains.value(), pos.getX(), pos.getZ());
+    }
+
+    @Override
+    public RegistryAccess registryAccess()
+    {
+        return registryAccess;
+    }
+
+    @Override
+    public FeatureFlagSet enabledFeatures()
+    {
+        return FeatureFlags.DEFAULT_FLAGS;
+    }
+
+    @Override
+    public BiomeManager getBiomeManager()
+    {
+        return biomeManager;
+    }
+
+    @Override
+    public Holder<Biome> getUncachedNoiseBiome(int x, int y, int z)
+    {
+        return plains;
+    }
+
+    @Override
+    public DimensionType dimensionType()
+    {
+        return dimensionType;
+    }
+
+    @Override
+    public LevelLightEngine getLightEngine()
+    {
+        return lightEngine;
+    }
+
+    @Override
+    public int getBrightness(LightLayer layer, BlockPos pos)
+    {
+        return layer == LightLayer.SKY && pos.getY() > SURFACE? 15 : 0;
+    }
+
+    @Override
+    public int getRawBrightness(BlockPos pos, int darken)
+    {
+        return Math.max(getBrightness(LightLayer.SKY, pos) - darken, 0);
+    }
+
+    @Override
+    public boolean canSeeSky(BlockPos pos)
+    {
+        return getBrightness(LightLayer.SKY, pos) == 15;
+    }
+
+    private static Registry<Biome> createBiomes()
+    {
+        var registry = new MappedRegistry<>(Registries.BIOME, Lifecycle.stable());
+        var plains = new Biome.BiomeBuilder()
+                .hasPrecipitation(true)
+                .temperature(0.8f)
+                .downfall(0.4f)
+                .specialEffects(new BiomeSpecialEffects.Builder()
+                        .fogColor(0xC0D8FF)
+                        .waterColor(0x3F76E4)
+                        .waterFogColor(0x050533)
+                        .skyColor(0x78A7FF)
+                        .build())
+                .mobSpawnSettings(MobSpawnSettings.EMPTY)
+                .generationSettings(BiomeGenerationSettings.EMPTY)
+                .build();
+        Registry.register(registry, Biomes.PLAINS, plains);
+        registry.freeze();
+        return registry;
+    }
+}
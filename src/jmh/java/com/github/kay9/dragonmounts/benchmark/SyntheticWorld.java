@@ -0,0 +1,352 @@
+package com.github.kay9.dragonmounts.benchmark;
+
+import com.mojang.serialization.Lifecycle;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.*;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.data.worldgen.BootstapContext;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.AbortableIterationConsumer;
+import net.minecraft.util.profiling.InactiveProfiler;
+import net.minecraft.world.Difficulty;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.damagesource.DamageTypes;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.flag.FeatureFlagSet;
+import net.minecraft.world.flag.FeatureFlags;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LightLayer;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkSource;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.UpgradeData;
+import net.minecraft.world.level.dimension.BuiltinDimensionTypes;
+import net.minecraft.world.level.entity.EntityTypeTest;
+import net.minecraft.world.level.entity.LevelEntityGetter;
+import net.minecraft.world.level.gameevent.GameEvent;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.saveddata.maps.MapItemSavedData;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.scores.Scoreboard;
+import net.minecraft.world.ticks.BlackholeTickAccess;
+import net.minecraft.world.ticks.LevelChunkTicks;
+import net.minecraft.world.ticks.LevelTickAccess;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Level} over the terrain of a {@link SyntheticLevel}, for code that only takes a real level,
+ * like {@link com.github.kay9.dragonmounts.habitats.HabitatSnapshot#capture} and {@link com.github.kay9.dragonmounts.habitats.Habitat#getHabitatPoints(Level, BlockPos)}.
+ * <br>
+ * Blocks, chunks, biomes and light all come from the terrain. Chunks are {@link LevelChunk}s sharing the terrain's
+ * sections, so changing a section shows up in both. There are no entities, block entities, ticks or server, and it
+ * isn't a {@code ServerLevel}, so per level caches (like the habitat fact cache) aren't used either, unless a subclass
+ * hands them out through {@link com.github.kay9.dragonmounts.accessors.ServerLevelAccess}.
+ */
+public class SyntheticWorld extends Level
+{
+    private final SyntheticLevel terrain;
+    private final Scoreboard scoreboard = new Scoreboard();
+    private final Long2ObjectOpenHashMap<LevelChunk> chunks = new Long2ObjectOpenHashMap<>();
+    private final ChunkSource chunkSource = new ChunkSource()
+    {
+        @Override
+        public ChunkAccess getChunk(int x, int z, ChunkStatus status, boolean load)
+        {
+            return SyntheticWorld.this.getChunk(x, z, status, load);
+        }
+
+        @Override
+        public void tick(BooleanSupplier hasTimeLeft, boolean tickChunks) {}
+
+        @Override
+        public String gatherStats()
+        {
+            return "synthetic";
+        }
+
+        @Override
+        public int getLoadedChunksCount()
+        {
+            return 0;
+        }
+
+        @Override
+        public LevelLightEngine getLightEngine()
+        {
+            return terrain.getLightEngine();
+        }
+
+        @Override
+        public BlockGetter getLevel()
+        {
+            return SyntheticWorld.this;
+        }
+    };
+
+    public SyntheticWorld(SyntheticLevel terrain)
+    {
+        this(terrain, createRegistries(terrain));
+    }
+
+    private SyntheticWorld(SyntheticLevel terrain, RegistryAccess registries)
+    {
+        super(new ClientLevel.ClientLevelData(Difficulty.NORMAL, false, false), OVERWORLD, registries,
+                registries.registryOrThrow(Registries.DIMENSION_TYPE).getHolderOrThrow(BuiltinDimensionTypes.OVERWORLD),
+                () -> InactiveProfiler.INSTANCE, false, false, 0, 1000000);
+        this.terrain = terrain;
+    }
+
+    /**
+     * Level needs a registered dimension type and every damage type, on top of the terrain's biomes.
+     */
+    private static RegistryAccess createRegistries(SyntheticLevel terrain)
+    {
+        var dimensionTypes = new MappedRegistry<>(Registries.DIMENSION_TYPE, Lifecycle.stable());
+        Registry.register(dimensionTypes, BuiltinDimensionTypes.OVERWORLD, terrain.dimensionType());
+        dimensionTypes.freeze();
+
+        var damageTypes = new MappedRegistry<>(Registries.DAMAGE_TYPE, Lifecycle.stable());
+        DamageTypes.bootstrap(new BootstapContext<>()
+        {
+            @Override
+            public Holder.Reference<DamageType> register(ResourceKey<DamageType> key, DamageType value, Lifecycle lifecycle)
+            {
+                return damageTypes.register(key, value, lifecycle);
+            }
+
+            @Override
+            public <S> HolderGetter<S> lookup(ResourceKey<? extends Registry<? extends S>> registry)
+            {
+                throw new UnsupportedOperationException();
+            }
+        });
+        damageTypes.freeze();
+
+        return new RegistryAccess.ImmutableRegistryAccess(List.of(terrain.registryAccess().registryOrThrow(Registries.BIOME), dimensionTypes, damageTypes));
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos)
+    {
+        return terrain.getBlockState(pos);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos)
+    {
+        return terrain.getFluidState(pos);
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos)
+    {
+        return null;
+    }
+
+    @Override
+    public LevelChunk getChunk(int x, int z, ChunkStatus status, boolean load)
+    {
+        long key = ChunkPos.asLong(x, z);
+        var chunk = chunks.get(key);
+        if (chunk == null)
+        {
+            var proto = terrain.getChunk(x, z);
+            chunks.put(key, chunk = new LevelChunk(this, proto.getPos(), UpgradeData.EMPTY, new LevelChunkTicks<>(), new LevelChunkTicks<>(), 0, proto.getSections(), null, null));
+        }
+        return chunk;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean hasChunk(int x, int z)
+    {
+        return true;
+    }
+
+    @Override
+    public int getHeight(Heightmap.Types type, int x, int z)
+    {
+        return terrain.getHeight(type, x, z);
+    }
+
+    @Override
+    public int getBrightness(LightLayer layer, BlockPos pos)
+    {
+        return terrain.getBrightness(layer, pos);
+    }
+
+    @Override
+    public int getRawBrightness(BlockPos pos, int darken)
+    {
+        return terrain.getRawBrightness(pos, darken);
+    }
+
+    @Override
+    public boolean canSeeSky(BlockPos pos)
+    {
+        return terrain.canSeeSky(pos);
+    }
+
+    @Override
+    public Holder<Biome> getUncachedNoiseBiome(int x, int y, int z)
+    {
+        return terrain.getUncachedNoiseBiome(x, y, z);
+    }
+
+    @Override
+    public float getShade(Direction direction, boolean shade)
+    {
+        return 1;
+    }
+
+    @Override
+    public FeatureFlagSet enabledFeatures()
+    {
+        return FeatureFlags.DEFAULT_FLAGS;
+    }
+
+    @Override
+    public ChunkSource getChunkSource()
+    {
+        return chunkSource;
+    }
+
+    @Override
+    public LevelTickAccess<Block> getBlockTicks()
+    {
+        return BlackholeTickAccess.emptyLevelList();
+    }
+
+    @Override
+    public LevelTickAccess<Fluid> getFluidTicks()
+    {
+        return BlackholeTickAccess.emptyLevelList();
+    }
+
+    @Override
+    public List<? extends Player> players()
+    {
+        return List.of();
+    }
+
+    @Nullable
+    @Override
+    public Entity getEntity(int id)
+    {
+        return null;
+    }
+
+    @Override
+    protected LevelEntityGetter<Entity> getEntities()
+    {
+        return NO_ENTITIES;
+    }
+
+    @Override
+    public String gatherChunkSourceStats()
+    {
+        return chunkSource.gatherStats();
+    }
+
+    @Override
+    public Scoreboard getScoreboard()
+    {
+        return scoreboard;
+    }
+
+    @Override
+    public RecipeManager getRecipeManager()
+    {
+        throw new UnsupportedOperationException("no recipes without a server");
+    }
+
+    @Nullable
+    @Override
+    public MapItemSavedData getMapData(String id)
+    {
+        return null;
+    }
+
+    @Override
+    public void setMapData(String id, MapItemSavedData data) {}
+
+    @Override
+    public int getFreeMapId()
+    {
+        return 0;
+    }
+
+    // nothing listens, so updates, sounds and events go nowhere
+
+    @Override
+    public void sendBlockUpdated(BlockPos pos, BlockState oldState, BlockState newState, int flags) {}
+
+    @Override
+    public void destroyBlockProgress(int breakerId, BlockPos pos, int progress) {}
+
+    @Override
+    public void playSeededSound(@Nullable Player player, double x, double y, double z, Holder<SoundEvent> sound, SoundSource source, float volume, float pitch, long seed) {}
+
+    @Override
+    public void playSeededSound(@Nullable Player player, Entity entity, Holder<SoundEvent> sound, SoundSource source, float volume, float pitch, long seed) {}
+
+    @Override
+    public void levelEvent(@Nullable Player player, int type, BlockPos pos, int data) {}
+
+    @Override
+    public void gameEvent(GameEvent event, Vec3 pos, GameEvent.Context context) {}
+
+    private static final LevelEntityGetter<Entity> NO_ENTITIES = new LevelEntityGetter<>()
+    {
+        @Nullable
+        @Override
+        public Entity get(int id)
+        {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public Entity get(UUID uuid)
+        {
+            return null;
+        }
+
+        @Override
+        public Iterable<Entity> getAll()
+        {
+            return List.of();
+        }
+
+        @Override
+        public <U extends Entity> void get(EntityTypeTest<Entity, U> test, AbortableIterationConsumer<U> consumer) {}
+
+        @Override
+        public void get(AABB area, Consumer<Entity> consumer) {}
+
+        @Override
+        public <U extends Entity> void get(EntityTypeTest<Entity, U> test, AABB area, AbortableIterationConsumer<U> consumer) {}
+    };
+}
@@ -0,0 +1,31 @@
+/**
+ * Hot path micro benchmarks, over {@link com.github.kay9.dragonmounts.benchmark.SyntheticLevel} terrain and
+ * {@link com.github.kay9.dragonmounts.benchmark.SyntheticBreeds} registries, with vanilla bootstrapped but no mod
+ * loading. Run with `gradlew jmh`.
+ * <br>
+ * What's covered:
+ * <br>
+ * - egg habitat updates: both branches of {@code HatchableEggBlockEntity.updateHabitat}, capturing and scoring
+ * ({@link com.github.kay9.dragonmounts.benchmark.HabitatPlanBenchmark}), and the neighborhood scans habitats make
+ * ({@link com.github.kay9.dragonmounts.benchmark.NeighborhoodScanBenchmark}).
+ * <br>
+ * - {@code TameableDragon.isInWall}: the suffocation scan ({@link com.github.kay9.dragonmounts.benchmark.SuffocationBenchmark}).
+ * <br>
+ * - ability move hooks: the reaper footprint lookups ({@link com.github.kay9.dragonmounts.benchmark.ReaperFootprintBenchmark}).
+ * <br>
+ * - breeding: cross breed lookups ({@link com.github.kay9.dragonmounts.benchmark.CrossBreedingBenchmark}).
+ * <br>
+ * What isn't, and why:
+ * <br>
+ * - anything that needs a live {@code TameableDragon} ({@code tick}, {@code travel}, the isInWall recheck skip,
+ * ability {@code tick}/{@code onMove} hooks as a whole). Forge's {@code LivingEntity.createLivingAttributes} and
+ * living entity movement (step height, gravity, swim speed) read {@code ForgeMod} attributes, which are registry
+ * objects only filled in by mod loading. Past that, dragon ticks cast their level to {@code ServerLevel} and
+ * {@code Mob.serverAiStep} reads the server's tick count.
+ * <br>
+ * - footprint placement: every footprint ability sends particles (or bonemeals) through a {@code ServerLevel}.
+ * <br>
+ * - the egg block entity itself: its {@code BlockEntityType} is a registry object too, so the benchmarks call
+ * what updateHabitat calls instead.
+ */
+package com.github.kay9.dragonmounts.benchmark;
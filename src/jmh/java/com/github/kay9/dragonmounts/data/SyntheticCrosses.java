@@ -0,0 +1,35 @@
+package com.github.kay9.dragonmounts.data;
+
+import com.github.kay9.dragonmounts.DragonMountsLegacy;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.profiling.InactiveProfiler;
+
+import java.util.HashMap;
+
+/**
+ * Cross breeds between the benchmark breeds, loaded into {@link CrossBreedingManager} the same way a data pack would be.
+ * Lives in this package since loading is only exposed to the reload listener itself.
+ */
+public class SyntheticCrosses
+{
+    public static void load()
+    {
+        var entries = new HashMap<ResourceLocation, JsonElement>();
+        cross(entries, "fire", "ice", "water");
+        cross(entries, "forest", "nether", "ghost");
+        cross(entries, "aether", "water", "ice");
+        CrossBreedingManager.INSTANCE.apply(entries, ResourceManager.Empty.INSTANCE, InactiveProfiler.INSTANCE);
+    }
+
+    private static void cross(HashMap<ResourceLocation, JsonElement> entries, String parent1, String parent2, String child)
+    {
+        var json = new JsonObject();
+        json.addProperty("parent1", DragonMountsLegacy.id(parent1).toString());
+        json.addProperty("parent2", DragonMountsLegacy.id(parent2).toString());
+        json.addProperty("child", DragonMountsLegacy.id(child).toString());
+        entries.put(DragonMountsLegacy.id(parent1 + "_" + parent2), json);
+    }
+}
@@ -43,6 +43,67 @@ public class DMLConfig
         return UPDATE_HABITATS.get();
     }
 
+    private static final ForgeConfigSpec.IntValue HABITAT_TICK_BUDGET;
+
+    public static int habitatTickBudget()
+    {
+        return HABITAT_TICK_BUDGET.get();
+    }
+
+    public static boolean scheduleHabitatUpdates()
+    {
+        return updateHabitats() && habitatTickBudget() > 0;
+    }
+
+    private static final ForgeConfigSpec.IntValue HABITAT_UPDATE_INTERVAL;
+
+    public static int habitatUpdateInterval()
+    {
+        return HABITAT_UPDATE_INTERVAL.get();
+    }
+
+    private static final ForgeConfigSpec.BooleanValue ASYNC_HABITAT_UPDATES;
+
+    public static boolean asyncHabitatUpdates()
+    {
+        return ASYNC_HABITAT_UPDATES.get();
+    }
+
+    private static final ForgeConfigSpec.BooleanValue PROFILE_HABITATS;
+
+    public static boolean profileHabitats()
+    {
+        return PROFILE_HABITATS.get();
+    }
+
+    private static final ForgeConfigSpec.IntValue HABITAT_PROFILE_LOG_INTERVAL;
+
+    public static int habitatProfileLogInterval()
+    {
+        return HABITAT_PROFILE_LOG_INTERVAL.get();
+    }
+
+    private static final ForgeConfigSpec.IntValue DRAGON_LOD_RADIUS;
+
+    public static int dragonLodRadius()
+    {
+        return DRAGON_LOD_RADIUS.get();
+    }
+
+    private static final ForgeConfigSpec.IntValue DRAGON_LOD_INTERVAL;
+
+    public static int dragonLodInterval()
+    {
+        return DRAGON_LOD_INTERVAL.get();
+    }
+
+    private static final ForgeConfigSpec.IntValue DRAGON_PATH_BUDGET;
+
+    public static int dragonPathBudget()
+    {
+        return DRAGON_PATH_BUDGET.get();
+    }
+
     private static final Map<String, ForgeConfigSpec.DoubleValue> EGG_CHANCES;
 
     public static float getEggChanceFor(String configTarget)
@@ -84,6 +145,42 @@ public class DMLConfig
                 .define("use_loot_tables", false);
         UPDATE_HABITATS = configurator.comment("Should Dragon Eggs adapt to their environments and change breeds?")
                 .define("update_habitats", true);
+        HABITAT_TICK_BUDGET = configurator.comment(
+                        "How much time (in microseconds) each world may spend re-evaluating egg habitats per tick.",
+                        "Eggs are re-evaluated in small batches within this budget, rather than on random ticks.",
+                        "0 = Disabled; eggs re-evaluate their habitats on random ticks instead.")
+                .defineInRange("habitat_tick_budget", 1000, 0, 50000);
+        HABITAT_UPDATE_INTERVAL = configurator.comment(
+                        "How many ticks an egg waits between habitat re-evaluations when `habitat_tick_budget` is enabled.",
+                        "Eggs with unchanged surroundings are skipped when their turn comes.")
+                .defineInRange("habitat_update_interval", 1200, 1, 72000);
+        ASYNC_HABITAT_UPDATES = configurator.comment(
+                        "Should egg habitats be scored on background threads?",
+                        "The egg's surroundings are still captured on the server thread, and breed changes are applied there a tick later.",
+                        "Eggs are always scored on the server thread while breeds with custom (non built-in) habitats are loaded.")
+                .define("async_habitat_updates", false);
+        PROFILE_HABITATS = configurator.comment(
+                        "Should the time spent scoring egg habitats be recorded, per habitat type and per breed?",
+                        "Useful for finding which (datapack) breeds make eggs expensive. View with `/dragonmounts habitat_profile`.",
+                        "Leave this off unless you're looking for something; timing every habitat has a small cost.")
+                .define("profile_habitats", false);
+        HABITAT_PROFILE_LOG_INTERVAL = configurator.comment(
+                        "How often (in seconds) the habitat profile is written to the log while `profile_habitats` is enabled.",
+                        "0 = Never")
+                .defineInRange("habitat_profile_log_interval", 300, 0, 86400);
+        DRAGON_LOD_RADIUS = configurator.comment(
+                        "Dragons without a player within this many blocks (or that are sitting) run their more expensive logic less often.",
+                        "That is: AI goal selection, abilities, and ground/growth updates. Movement and vanilla ticking are unaffected.",
+                        "0 = Disabled; all dragons always tick at full rate.")
+                .defineInRange("dragon_lod_radius", 64, 0, 1024);
+        DRAGON_LOD_INTERVAL = configurator.comment(
+                        "How often (in ticks) distant or sitting dragons run their more expensive logic. See `dragon_lod_radius`.")
+                .defineInRange("dragon_lod_interval", 10, 1, 200);
+        DRAGON_PATH_BUDGET = configurator.comment(
+                        "The time in microseconds per tick each level spends on new paths for dragons following their owner, or that already have one to follow.",
+                        "Those dragons keep following their old path (or wait) until their turn comes, so many dragons re-pathing at once don't lag the server.",
+                        "0 = No budget; compute paths immediately, like vanilla")
+                .defineInRange("dragon_path_budget", 2000, 0, 50000);
 
         configurator.pop();
 
@@ -112,6 +209,33 @@ public class DMLConfig
         COMMON_SPEC = configurator.build();
     }
 
+    // synced to clients; dragon hitboxes depend on these, so both sides have to agree.
+    public static final ForgeConfigSpec SERVER_SPEC;
+
+    private static final ForgeConfigSpec.IntValue GROWTH_STAGES;
+
+    public static int growthStages()
+    {
+        // dragons can exist before a world's server config is loaded (e.g. in menus)
+        return SERVER_SPEC.isLoaded()? GROWTH_STAGES.get() : GROWTH_STAGES.getDefault();
+    }
+
+    static
+    {
+        var configurator = new ForgeConfigSpec.Builder()
+                .push("server");
+
+        GROWTH_STAGES = configurator.comment(
+                        "The number of discrete steps a growing dragon's size, health and attack damage go through until adulthood.",
+                        "Fewer stages means fewer attribute updates sent for hatchlings. Dragons still appear to grow smoothly.",
+                        "0 = Continuous; update as often as possible")
+                .defineInRange("growth_stages", 64, 0, 1024);
+
+        configurator.pop();
+
+        SERVER_SPEC = configurator.build();
+    }
+
     public static final ForgeConfigSpec CLIENT_SPEC;
 
     public static final ForgeConfigSpec.BooleanValue CAMERA_DRIVEN_FLIGHT;
@@ -1,26 +1,43 @@
 package com.github.kay9.dragonmounts;
 
+import com.github.kay9.dragonmounts.abilities.ReaperStepAbility;
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
 import com.github.kay9.dragonmounts.client.*;
 import com.github.kay9.dragonmounts.data.CrossBreedingManager;
 import com.github.kay9.dragonmounts.data.model.DragonModelPropertiesListener;
+import com.github.kay9.dragonmounts.dragon.DragonAgeSync;
 import com.github.kay9.dragonmounts.dragon.DragonSpawnEgg;
 import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import com.github.kay9.dragonmounts.dragon.ai.DragonMateIndex;
+import com.github.kay9.dragonmounts.dragon.ai.PathQueue;
 import com.github.kay9.dragonmounts.dragon.breed.BreedRegistry;
 import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
+import com.github.kay9.dragonmounts.dragon.egg.EggScheduler;
 import com.github.kay9.dragonmounts.dragon.egg.HatchableEggBlock;
+import com.github.kay9.dragonmounts.habitats.HabitatPlan;
+import com.github.kay9.dragonmounts.habitats.HabitatProfiler;
+import com.github.kay9.dragonmounts.util.TagBitsets;
+import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.serialization.Codec;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.color.item.ItemColors;
 import net.minecraft.client.renderer.entity.EntityRenderers;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.server.packs.resources.ReloadableResourceManager;
 import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.AreaEffectCloud;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
@@ -29,13 +46,20 @@ import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.CreativeModeTabs;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraftforge.client.ForgeHooksClient;
 import net.minecraftforge.client.model.geometry.IGeometryLoader;
+import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.server.ServerLifecycleHooks;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.util.TriConsumer;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -116,6 +140,16 @@ public class DragonMountsLegacy
         registrar.accept(DMLRegistry.DRAGON.get(), TameableDragon.createAttributes().build());
     }
 
+    static void onConfigLoad(ModConfig config)
+    {
+        if (config.getSpec() == DMLConfig.COMMON_SPEC) HabitatProfiler.setEnabled(DMLConfig.profileHabitats());
+    }
+
+    static void registerCommands(CommandDispatcher<CommandSourceStack> dispatcher)
+    {
+        dispatcher.register(Commands.literal(MOD_ID).then(HabitatProfiler.command()));
+    }
+
     // ========================
     //       Game Events
     // ========================
@@ -139,6 +173,76 @@ public class DragonMountsLegacy
         return false;
     }
 
+    /**
+     * Called by {@link com.github.kay9.dragonmounts.mixins.ServerLevelMixin} whenever a block changes.
+     */
+    public static void onBlockStateChange(ServerLevel level, BlockPos pos, BlockState newState)
+    {
+        ((ServerLevelAccess) level).getHabitatFactCache().onBlockChanged(pos, newState);
+    }
+
+    static void onChunkUnload(LevelAccessor level, ChunkAccess chunk)
+    {
+        if (level instanceof ServerLevel sLevel)
+            ((ServerLevelAccess) sLevel).getHabitatFactCache().onChunkUnload(chunk.getPos());
+    }
+
+    static void onEntityJoinLevel(Entity entity, Level level)
+    {
+        if (entity instanceof AreaEffectCloud cloud && level instanceof ServerLevel sLevel)
+            ((ServerLevelAccess) sLevel).getDragonBreathIndex().add(cloud);
+    }
+
+    static void onEntityLeaveLevel(Entity entity, Level level)
+    {
+        if (entity instanceof AreaEffectCloud cloud && level instanceof ServerLevel sLevel)
+            ((ServerLevelAccess) sLevel).getDragonBreathIndex().remove(cloud);
+        else if (entity instanceof TameableDragon dragon && level instanceof ServerLevel sLevel)
+            DragonMateIndex.of(sLevel).remove(dragon);
+    }
+
+    static void onStartTracking(Entity target, Player player)
+    {
+        if (target instanceof TameableDragon dragon && target.level() instanceof ServerLevel sLevel && player instanceof ServerPlayer sPlayer)
+            DragonAgeSync.of(sLevel).startTracking(dragon, sPlayer);
+    }
+
+    static void onStopTracking(Entity target, Player player)
+    {
+        if (target instanceof TameableDragon dragon && target.level() instanceof ServerLevel sLevel && player instanceof ServerPlayer sPlayer)
+            DragonAgeSync.of(sLevel).stopTracking(dragon, sPlayer);
+    }
+
+    static void serverTick(MinecraftServer server, boolean head)
+    {
+        if (!head) HabitatProfiler.tick(server.getTickCount());
+    }
+
+    static void levelTick(Level level, boolean head)
+    {
+        if (!head && level instanceof ServerLevel sLevel)
+        {
+            EggScheduler.of(sLevel).tick();
+            DragonAgeSync.of(sLevel).tick();
+            PathQueue.of(sLevel).tick();
+        }
+    }
+
+    static void onTagsUpdated(RegistryAccess registryAccess, boolean serverData)
+    {
+        if (!serverData) return;
+
+        var plan = HabitatPlan.get(registryAccess);
+        var blockTags = new HashSet<>(plan.blockTags());
+        Collections.addAll(blockTags, ReaperStepAbility.PLANT_DEATH_TAG, ReaperStepAbility.PLANT_DESTRUCTION_TAG, ReaperStepAbility.REAPER_TRANSFORM);
+        TagBitsets.rebuild(blockTags, plan.fluidTags());
+
+        // the initial load happens before the server exists; there's nothing cached yet then.
+        var server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null)
+            for (var level : server.getAllLevels()) ((ServerLevelAccess) level).getHabitatFactCache().clear();
+    }
+
     static void clientTick(boolean head)
     {
         if (!head) MountControlsMessenger.tick();
@@ -1,20 +1,29 @@
 package com.github.kay9.dragonmounts;
 
 import com.github.kay9.dragonmounts.client.MountCameraManager;
+import com.github.kay9.dragonmounts.dragon.DragonAgeSync;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.*;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.BuildCreativeModeTabContentsEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.EntityAttributeCreationEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLConstructModEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.fml.loading.FMLLoader;
+import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 import net.minecraftforge.registries.DataPackRegistryEvent;
@@ -33,6 +42,7 @@ public class ForgeModImpl
         DMLRegistry.init(bus);
 
         ModLoadingContext.get().registerConfig(ModConfig.Type.COMMON, DMLConfig.COMMON_SPEC);
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, DMLConfig.SERVER_SPEC);
         ModLoadingContext.get().registerConfig(ModConfig.Type.CLIENT, DMLConfig.CLIENT_SPEC);
 
         setupEvents();
@@ -40,12 +50,18 @@ public class ForgeModImpl
 
     static
     {
-        var PROTOCOL_VERSION = "1.O";
+        var PROTOCOL_VERSION = "1.1";
         NETWORK = NetworkRegistry.ChannelBuilder.named(DragonMountsLegacy.id("network"))
                 .clientAcceptedVersions(PROTOCOL_VERSION::equals)
                 .serverAcceptedVersions(PROTOCOL_VERSION::equals)
                 .networkProtocolVersion(() -> PROTOCOL_VERSION)
                 .simpleChannel();
+
+        NETWORK.messageBuilder(DragonAgeSync.Packet.class, 0, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(DragonAgeSync.Packet::encode)
+                .decoder(DragonAgeSync.Packet::decode)
+                .consumerMainThread(DragonAgeSync.Packet::handle)
+                .add();
     }
 
     private static void setupEvents()
@@ -55,9 +71,20 @@ public class ForgeModImpl
 
         bus.addListener((PlayerInteractEvent.RightClickBlock e) -> e.setCanceled(overrideVanillaDragonEgg(e.getLevel(), e.getPos(), e.getEntity())));
         bus.addListener((AddReloadListenerEvent e) -> registerReloadListeners(e::addListener));
+        bus.addListener((ChunkEvent.Unload e) -> onChunkUnload(e.getLevel(), e.getChunk()));
+        bus.addListener((EntityJoinLevelEvent e) -> onEntityJoinLevel(e.getEntity(), e.getLevel()));
+        bus.addListener((EntityLeaveLevelEvent e) -> onEntityLeaveLevel(e.getEntity(), e.getLevel()));
+        bus.addListener((PlayerEvent.StartTracking e) -> onStartTracking(e.getTarget(), e.getEntity()));
+        bus.addListener((PlayerEvent.StopTracking e) -> onStopTracking(e.getTarget(), e.getEntity()));
+        bus.addListener((RegisterCommandsEvent e) -> registerCommands(e.getDispatcher()));
+        bus.addListener((TickEvent.ServerTickEvent e) -> serverTick(e.getServer(), e.phase == TickEvent.Phase.START));
+        bus.addListener((TickEvent.LevelTickEvent e) -> levelTick(e.level, e.phase == TickEvent.Phase.START));
+        bus.addListener((TagsUpdatedEvent e) -> onTagsUpdated(e.getRegistryAccess(), e.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD));
 
         modBus.addListener((EntityAttributeCreationEvent e) -> registerEntityAttributes(e::put));
         modBus.addListener((DataPackRegistryEvent.NewRegistry e) -> registerDatapacks(e::dataPackRegistry));
+        modBus.addListener((ModConfigEvent.Loading e) -> onConfigLoad(e.getConfig()));
+        modBus.addListener((ModConfigEvent.Reloading e) -> onConfigLoad(e.getConfig()));
 
         if (FMLLoader.getDist() == Dist.CLIENT) // Client Events
         {
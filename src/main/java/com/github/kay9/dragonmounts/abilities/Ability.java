@@ -6,8 +6,11 @@ import com.mojang.serialization.Codec;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -73,6 +76,21 @@ public interface Ability
      */
     default void onMove(TameableDragon dragon) {}
 
+    /**
+     * The per-dragon hooks an ability can implement. Dragons only dispatch a hook to the abilities whose
+     * factory declares it in {@link Factory#hooks()}. <br>
+     * {@link #initialize} and {@link #close} are always called.
+     */
+    enum Hook
+    {
+        TICK,
+        MOVE,
+        WRITE,
+        READ;
+
+        public static final Set<Hook> ALL = Collections.unmodifiableSet(EnumSet.allOf(Hook.class));
+    }
+
     /**
      * The Ability Factory is responsible for creating the instances of an ability.
      * If an ability is meant to be breed specific and needs no per-entity data, this interface can be implemented
@@ -96,6 +114,15 @@ public interface Ability
         T create();
 
         ResourceLocation type();
+
+        /**
+         * The hooks the created abilities actually implement. Dragons skip calling hooks that aren't declared here.
+         * Defaults to all of them, so existing abilities keep working; override it if you only implement a few.
+         */
+        default Set<Hook> hooks()
+        {
+            return Hook.ALL;
+        }
     }
 
     /**
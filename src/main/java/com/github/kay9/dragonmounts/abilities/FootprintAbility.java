@@ -4,8 +4,18 @@ import com.github.kay9.dragonmounts.dragon.TameableDragon;
 import net.minecraft.core.BlockPos;
 import net.minecraftforge.event.ForgeEventFactory;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public abstract class FootprintAbility implements Ability
 {
+    /**
+     * Footprints only ever happen on move. For the built-in footprints to declare in {@link Ability.Factory#hooks()};
+     * subclasses may implement more hooks, so it's not the default here.
+     */
+    protected static final Set<Hook> FOOTPRINT_HOOKS = Collections.unmodifiableSet(EnumSet.of(Hook.MOVE));
+
     @Override
     public void onMove(TameableDragon dragon)
     {
@@ -13,6 +13,10 @@ import net.minecraft.world.phys.shapes.CollisionContext;
 import net.minecraftforge.common.util.BlockSnapshot;
 import net.minecraftforge.event.ForgeEventFactory;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 
 public class FrostWalkerAbility implements Ability, Ability.Factory<FrostWalkerAbility>
 {
@@ -21,6 +25,8 @@ public class FrostWalkerAbility implements Ability, Ability.Factory<FrostWalkerA
             .fieldOf("radius_multiplier")
             .codec();
 
+    private static final Set<Hook> HOOKS = Collections.unmodifiableSet(EnumSet.of(Hook.TICK));
+
     private final float radiusMultiplier;
 
     protected FrostWalkerAbility(float radiusMultiplier)
@@ -96,4 +102,10 @@ public class FrostWalkerAbility implements Ability, Ability.Factory<FrostWalkerA
     {
         return FROST_WALKER;
     }
+
+    @Override
+    public Set<Hook> hooks()
+    {
+        return HOOKS;
+    }
 }
@@ -14,6 +14,8 @@ import net.minecraft.world.level.block.BonemealableBlock;
 import net.minecraft.world.level.block.LevelEvent;
 import net.minecraft.world.level.block.state.BlockState;
 
+import java.util.Set;
+
 public class GreenToesAbility extends FootprintAbility implements Ability.Factory<GreenToesAbility>
 {
     public static final GreenToesAbility INSTANCE = new GreenToesAbility();
@@ -104,4 +106,10 @@ public class GreenToesAbility extends FootprintAbility implements Ability.Factor
     {
         return GREEN_TOES;
     }
+
+    @Override
+    public Set<Hook> hooks()
+    {
+        return FOOTPRINT_HOOKS;
+    }
 }
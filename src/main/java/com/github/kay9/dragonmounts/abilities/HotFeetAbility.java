@@ -12,6 +12,8 @@ import net.minecraft.tags.BlockTags;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.level.block.Block;
 
+import java.util.Set;
+
 public class HotFeetAbility extends FootprintAbility implements Ability.Factory<HotFeetAbility>
 {
     public static final HotFeetAbility INSTANCE = new HotFeetAbility();
@@ -43,4 +45,10 @@ public class HotFeetAbility extends FootprintAbility implements Ability.Factory<
     {
         return HOT_FEET;
     }
+
+    @Override
+    public Set<Hook> hooks()
+    {
+        return FOOTPRINT_HOOKS;
+    }
 }
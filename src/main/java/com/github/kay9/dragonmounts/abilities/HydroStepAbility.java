@@ -11,6 +11,8 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.FarmBlock;
 import net.minecraft.world.level.block.WeatheringCopper;
 
+import java.util.Set;
+
 public class HydroStepAbility extends FootprintAbility implements Ability.Factory<HydroStepAbility>
 {
     public static final HydroStepAbility INSTANCE = new HydroStepAbility();
@@ -80,4 +82,10 @@ public class HydroStepAbility extends FootprintAbility implements Ability.Factor
     {
         return HYDRO_STEP;
     }
+
+    @Override
+    public Set<Hook> hooks()
+    {
+        return FOOTPRINT_HOOKS;
+    }
 }
@@ -2,6 +2,7 @@ package com.github.kay9.dragonmounts.abilities;
 
 import com.github.kay9.dragonmounts.DragonMountsLegacy;
 import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import com.github.kay9.dragonmounts.util.TagBitsets;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.particles.ParticleTypes;
@@ -18,6 +19,8 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 
+import java.util.Set;
+
 public class ReaperStepAbility extends FootprintAbility implements Ability.Factory<ReaperStepAbility>
 {
     public static final ReaperStepAbility INSTANCE = new ReaperStepAbility();
@@ -32,7 +35,7 @@ public class ReaperStepAbility extends FootprintAbility implements Ability.Facto
     {
         var level = dragon.level();
         var steppingOn = level.getBlockState(pos);
-        if (steppingOn.is(PLANT_DEATH_TAG))
+        if (TagBitsets.is(steppingOn, PLANT_DEATH_TAG))
         {
             level.removeBlock(pos, false);
             level.playSound(null, pos, SoundEvents.FIRE_EXTINGUISH, dragon.getSoundSource(), 0.1f, 2f);
@@ -41,7 +44,7 @@ public class ReaperStepAbility extends FootprintAbility implements Ability.Facto
             var bs = (dragon.getRandom().nextDouble() < 0.05? Blocks.WITHER_ROSE : Blocks.DEAD_BUSH).defaultBlockState();
             level.setBlock(pos, bs, Block.UPDATE_ALL);
         }
-        else if (steppingOn.is(PLANT_DESTRUCTION_TAG))
+        else if (TagBitsets.is(steppingOn, PLANT_DESTRUCTION_TAG))
         {
             level.destroyBlock(pos, false);
             level.playSound(null, pos, SoundEvents.FIRE_EXTINGUISH, dragon.getSoundSource(), 0.1f, 2f);
@@ -51,7 +54,7 @@ public class ReaperStepAbility extends FootprintAbility implements Ability.Facto
             sticks.setPickUpDelay(40);
             level.addFreshEntity(sticks);
         }
-        else if ((steppingOn = level.getBlockState(pos = pos.below())).is(REAPER_TRANSFORM)) // todo: this isn't very customizable...
+        else if (TagBitsets.is(steppingOn = level.getBlockState(pos = pos.below()), REAPER_TRANSFORM)) // todo: this isn't very customizable...
         {
             if (steppingOn.is(Blocks.GRASS_BLOCK))
                 destroyAndReplace(level, Blocks.DIRT.defaultBlockState(), pos);
@@ -86,4 +89,10 @@ public class ReaperStepAbility extends FootprintAbility implements Ability.Facto
     {
         return REAPER_STEP;
     }
+
+    @Override
+    public Set<Hook> hooks()
+    {
+        return FOOTPRINT_HOOKS;
+    }
 }
@@ -8,6 +8,8 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.Blocks;
 
+import java.util.Set;
+
 public class SnowStepperAbility extends FootprintAbility implements Ability.Factory<SnowStepperAbility>
 {
     public static final SnowStepperAbility INSTANCE = new SnowStepperAbility();
@@ -46,4 +48,10 @@ public class SnowStepperAbility extends FootprintAbility implements Ability.Fact
     {
         return SNOW_STEPPER;
     }
+
+    @Override
+    public Set<Hook> hooks()
+    {
+        return FOOTPRINT_HOOKS;
+    }
 }
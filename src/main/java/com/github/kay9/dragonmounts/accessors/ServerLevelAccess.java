@@ -0,0 +1,29 @@
+package com.github.kay9.dragonmounts.accessors;
+
+import com.github.kay9.dragonmounts.dragon.DragonAgeSync;
+import com.github.kay9.dragonmounts.dragon.ai.DragonMateIndex;
+import com.github.kay9.dragonmounts.dragon.ai.FollowPathCache;
+import com.github.kay9.dragonmounts.dragon.ai.LandingSpotCache;
+import com.github.kay9.dragonmounts.dragon.ai.PathQueue;
+import com.github.kay9.dragonmounts.dragon.egg.EggScheduler;
+import com.github.kay9.dragonmounts.habitats.DragonBreathIndex;
+import com.github.kay9.dragonmounts.habitats.HabitatFactCache;
+
+public interface ServerLevelAccess
+{
+    HabitatFactCache getHabitatFactCache();
+
+    DragonBreathIndex getDragonBreathIndex();
+
+    EggScheduler getEggScheduler();
+
+    DragonAgeSync getDragonAgeSync();
+
+    DragonMateIndex getDragonMateIndex();
+
+    FollowPathCache getFollowPathCache();
+
+    PathQueue getPathQueue();
+
+    LandingSpotCache getLandingSpotCache();
+}
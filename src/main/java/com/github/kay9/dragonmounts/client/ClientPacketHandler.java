@@ -0,0 +1,22 @@
+package com.github.kay9.dragonmounts.client;
+
+import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import net.minecraft.client.Minecraft;
+
+/**
+ * The client side of DML's packets. Kept out of the packets themselves, since those are loaded on dedicated servers too.
+ */
+public class ClientPacketHandler
+{
+    /**
+     * @see com.github.kay9.dragonmounts.dragon.DragonAgeSync.Packet
+     */
+    public static void handleDragonAges(int[] ids, int[] ages)
+    {
+        var level = Minecraft.getInstance().level;
+        if (level == null) return;
+
+        for (int i = 0; i < ids.length && i < ages.length; i++)
+            if (level.getEntity(ids[i]) instanceof TameableDragon dragon) dragon.setSyncedAge(ages[i]);
+    }
+}
@@ -153,7 +153,7 @@ public class DragonEggModel implements IUnbakedGeometry<DragonEggModel>
         {
             if (level.getBlockEntity(pos) instanceof HatchableEggBlockEntity e && e.hasBreed())
                 return modelData.derive()
-                        .with(Data.PROPERTY, new Data(e.getBreed().id(Minecraft.getInstance().level.registryAccess()).toString()))
+                        .with(Data.PROPERTY, new Data(e.getBreed().identity(Minecraft.getInstance().level.registryAccess()).idString()))
                         .build();
 
             return modelData;
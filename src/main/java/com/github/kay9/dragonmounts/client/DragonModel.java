@@ -334,7 +334,7 @@ public class DragonModel extends EntityModel<TameableDragon>
     @Override
     public void prepareMobModel(TameableDragon dragon, float pLimbSwing, float pLimbSwingAmount, float pPartialTick)
     {
-        size = Math.min(dragon.getScale(), 1);
+        size = Math.min(dragon.getRenderScale(), 1);
         dragon.getAnimator().setPartialTicks(pPartialTick);
     }
 
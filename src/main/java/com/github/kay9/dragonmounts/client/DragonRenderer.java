@@ -104,7 +104,7 @@ public class DragonRenderer extends MobRenderer<TameableDragon, DragonModel>
     {
         super.setupRotations(dragon, ps, age, yaw, partials);
         var animator = dragon.getAnimator();
-        var scale = dragon.getScale();
+        var scale = dragon.getRenderScale();
         ps.scale(scale, scale, scale);
         ps.translate(animator.getModelOffsetX(), animator.getModelOffsetY(), animator.getModelOffsetZ());
         ps.translate(0, 1.5, 0.5); // change rotation point
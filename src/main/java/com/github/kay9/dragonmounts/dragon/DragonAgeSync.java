@@ -0,0 +1,147 @@
+package com.github.kay9.dragonmounts.dragon;
+
+import com.github.kay9.dragonmounts.ForgeModImpl;
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.client.ClientPacketHandler;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.Util;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import net.minecraftforge.network.PacketDistributor;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the client-side age of growing dragons in line with the server, for every player in a level.
+ * <br>
+ * Clients count the age of the dragons they see on their own, so there's nothing to send as long as they keep up.
+ * Every {@link TameableDragon#AGE_UPDATE_INTERVAL} ticks (staggered per player), the age each player's client should
+ * have arrived at by now is extrapolated from the last age it was sent, and only dragons that drifted further than
+ * {@link #TOLERANCE} are corrected, all in one packet. Dragons a player just started tracking are corrected on the
+ * next tick, since the age in their spawn data can be stale.
+ */
+public class DragonAgeSync
+{
+    public static final int TOLERANCE = 20; // ticks; lag spikes make clients run ahead
+
+    private final ServerLevel level;
+    private final Reference2ObjectOpenHashMap<ServerPlayer, Tracker> trackers = new Reference2ObjectOpenHashMap<>();
+
+    public DragonAgeSync(ServerLevel level)
+    {
+        this.level = level;
+    }
+
+    public static DragonAgeSync of(ServerLevel level)
+    {
+        return ((ServerLevelAccess) level).getDragonAgeSync();
+    }
+
+    public void startTracking(TameableDragon dragon, ServerPlayer player)
+    {
+        var tracker = trackers.computeIfAbsent(player, p -> new Tracker());
+        tracker.dragons.put(dragon, null);
+        tracker.dirty = true;
+    }
+
+    public void stopTracking(TameableDragon dragon, ServerPlayer player)
+    {
+        var tracker = trackers.get(player);
+        if (tracker != null)
+        {
+            tracker.dragons.remove(dragon);
+            if (tracker.dragons.isEmpty()) trackers.remove(player);
+        }
+    }
+
+    public void tick()
+    {
+        if (trackers.isEmpty()) return;
+
+        long time = level.getGameTime();
+        long now = Util.getMillis();
+        for (var it = trackers.reference2ObjectEntrySet().fastIterator(); it.hasNext(); )
+        {
+            var entry = it.next();
+            var player = entry.getKey();
+            var tracker = entry.getValue();
+            if (player.isRemoved())
+            {
+                it.remove();
+                continue;
+            }
+
+            if (!tracker.dirty && (time + player.getId()) % TameableDragon.AGE_UPDATE_INTERVAL != 0) continue;
+            tracker.dirty = false;
+
+            var ids = new IntArrayList();
+            var ages = new IntArrayList();
+            for (var dragons = tracker.dragons.reference2ObjectEntrySet().fastIterator(); dragons.hasNext(); )
+            {
+                var sent = dragons.next();
+                var dragon = sent.getKey();
+                if (dragon.isRemoved())
+                {
+                    dragons.remove();
+                    continue;
+                }
+
+                var last = sent.getValue();
+                int age = dragon.getAge();
+                if (last != null && Math.abs(last.extrapolate(now) - age) <= TOLERANCE) continue;
+
+                ids.add(dragon.getId());
+                ages.add(age);
+                sent.setValue(new Sent(age, now));
+            }
+
+            if (!ids.isEmpty())
+                ForgeModImpl.NETWORK.send(PacketDistributor.PLAYER.with(() -> player), new Packet(ids.toIntArray(), ages.toIntArray()));
+        }
+    }
+
+    private static class Tracker
+    {
+        // null = the client's age is unknown
+        private final Reference2ObjectOpenHashMap<TameableDragon, Sent> dragons = new Reference2ObjectOpenHashMap<>();
+        private boolean dirty;
+    }
+
+    private record Sent(int age, long millis)
+    {
+        /**
+         * @return the age the client should have counted to by now; it counts towards 0 in both directions every tick.
+         */
+        private int extrapolate(long now)
+        {
+            long ticks = (now - millis) / 50; // clients tick in real time, even when the server can't keep up
+            if (age < 0) return (int) Math.min(age + ticks, 0);
+            if (age > 0) return (int) Math.max(age - ticks, 0);
+            return 0;
+        }
+    }
+
+    public record Packet(int[] ids, int[] ages)
+    {
+        public static void encode(Packet packet, FriendlyByteBuf buf)
+        {
+            buf.writeVarIntArray(packet.ids);
+            buf.writeVarIntArray(packet.ages);
+        }
+
+        public static Packet decode(FriendlyByteBuf buf)
+        {
+            return new Packet(buf.readVarIntArray(), buf.readVarIntArray());
+        }
+
+        public static void handle(Packet packet, Supplier<NetworkEvent.Context> context)
+        {
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientPacketHandler.handleDragonAges(packet.ids, packet.ages));
+        }
+    }
+}
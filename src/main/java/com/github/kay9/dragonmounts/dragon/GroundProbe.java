@@ -0,0 +1,83 @@
+package com.github.kay9.dragonmounts.dragon;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.Shapes;
+
+/**
+ * Tracks how close the ground below a dragon is, for {@link TameableDragon#isNearGround()}.
+ * <br>
+ * This used to be a collision sweep of a vertical line below the dragon every tick. Since that line has no width,
+ * only full cube blocks in the dragon's column could ever stop it; so instead, we remember the top of the highest full
+ * cube below the dragon (or how far down we looked without finding one) and answer from that for as long as the
+ * dragon stays in the same column and within the part of it we already looked at.
+ * The column's heightmap tells us where to start looking, or that there is nothing to look for at all.
+ * <br>
+ * Blocks can still change under a hovering dragon, so the column is looked at again every so often regardless.
+ */
+public class GroundProbe
+{
+    private static final int REPROBE_INTERVAL = 10; // ticks
+    private static final int SCAN_MARGIN = 4; // extra blocks looked at below the threshold, so descending doesn't need a re-probe every tick
+
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private boolean valid;
+    private int columnX;
+    private int columnZ;
+    private int probedAt; // tick
+    private double probedY;
+    private double groundTop; // top of the highest full cube below probedY, or NaN if there is none down to scannedTo
+    private double scannedTo; // how far down the column is known
+
+    public boolean isNearGround(TameableDragon dragon, double clearance)
+    {
+        double y = dragon.getY();
+        double bottom = y - clearance;
+        int x = Mth.floor(dragon.getX());
+        int z = Mth.floor(dragon.getZ());
+
+        if (!valid
+                || x != columnX || z != columnZ
+                || dragon.tickCount - probedAt >= REPROBE_INTERVAL
+                || Math.ceil(probedY) < y // moved up past blocks we haven't looked at
+                || (Double.isNaN(groundTop) && bottom < scannedTo)) // moved down past where we looked
+            probe(dragon, x, z, y, bottom);
+
+        return !Double.isNaN(groundTop) && groundTop > bottom;
+    }
+
+    private void probe(TameableDragon dragon, int x, int z, double y, double bottom)
+    {
+        var level = dragon.level();
+        valid = true;
+        columnX = x;
+        columnZ = z;
+        probedAt = dragon.tickCount;
+        probedY = y;
+        groundTop = Double.NaN;
+
+        // nothing at or above the heightmap blocks motion, so start looking from there, if it's below us.
+        int top = Math.min(Mth.ceil(y) - 1, level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z) - 1);
+        int lowest = Math.max(Mth.floor(bottom) - SCAN_MARGIN, level.getMinBuildHeight());
+        scannedTo = lowest;
+
+        if (top < lowest) // open air all the way down to the heightmap, and we don't need to look below that yet
+        {
+            scannedTo = top + 1;
+            return;
+        }
+
+        var context = CollisionContext.of(dragon);
+        for (int by = top; by >= lowest; by--)
+        {
+            var pos = cursor.set(x, by, z);
+            if (level.getBlockState(pos).getCollisionShape(level, pos, context) == Shapes.block())
+            {
+                groundTop = by + 1;
+                return;
+            }
+        }
+    }
+}
@@ -9,13 +9,20 @@ import com.github.kay9.dragonmounts.client.KeyMappings;
 import com.github.kay9.dragonmounts.client.MountCameraManager;
 import com.github.kay9.dragonmounts.client.MountControlsMessenger;
 import com.github.kay9.dragonmounts.data.CrossBreedingManager;
+import com.github.kay9.dragonmounts.dragon.ai.DeferringNavigation;
 import com.github.kay9.dragonmounts.dragon.ai.DragonBodyController;
 import com.github.kay9.dragonmounts.dragon.ai.DragonBreedGoal;
+import com.github.kay9.dragonmounts.dragon.ai.DragonFlightNavigation;
+import com.github.kay9.dragonmounts.dragon.ai.DragonGroundNavigation;
 import com.github.kay9.dragonmounts.dragon.ai.DragonFollowOwnerGoal;
+import com.github.kay9.dragonmounts.dragon.ai.DragonGoalSelector;
+import com.github.kay9.dragonmounts.dragon.ai.DragonMateIndex;
 import com.github.kay9.dragonmounts.dragon.ai.DragonMoveController;
+import com.github.kay9.dragonmounts.dragon.breed.BreedAbilities;
 import com.github.kay9.dragonmounts.dragon.breed.BreedRegistry;
 import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
 import com.github.kay9.dragonmounts.dragon.egg.HatchableEggBlock;
+import com.github.kay9.dragonmounts.util.DMLUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.nbt.CompoundTag;
@@ -61,8 +68,6 @@ import net.minecraft.world.level.storage.loot.BuiltInLootTables;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.phys.shapes.BooleanOp;
-import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraftforge.common.Tags;
 import net.minecraftforge.network.NetworkHooks;
 import org.apache.commons.lang3.StringUtils;
@@ -98,7 +103,7 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     public static final float BASE_SIZE_MODIFIER = 1.0f;
 
     // data value IDs
-    private static final EntityDataAccessor<String> DATA_BREED = SynchedEntityData.defineId(TameableDragon.class, EntityDataSerializers.STRING);
+    private static final EntityDataAccessor<Integer> DATA_BREED = SynchedEntityData.defineId(TameableDragon.class, EntityDataSerializers.INT); // breed registry id, see BreedRegistry#getNetworkId
     private static final EntityDataAccessor<Boolean> DATA_SADDLED = SynchedEntityData.defineId(TameableDragon.class, EntityDataSerializers.BOOLEAN);
     private static final EntityDataAccessor<Integer> DATA_AGE = SynchedEntityData.defineId(TameableDragon.class, EntityDataSerializers.INT);
 
@@ -111,15 +116,26 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     public static final int AGE_UPDATE_INTERVAL = 100; // every 5 seconds
     public static final UUID SCALE_MODIFIER_UUID = UUID.fromString("856d4ba4-9ffe-4a52-8606-890bb9be538b"); // just a random uuid I took online
     public static final int GROUND_CLEARENCE_THRESHOLD = 3; // height in blocks (multiplied by scale of dragon)
+    public static final int LOD_CHECK_INTERVAL = 20; // every second
+    private static final int WALL_RECHECK_INTERVAL = 20;
 
     // server/client delegates
     private final DragonAnimator animator;
-    private final List<Ability> abilities = new ArrayList<>();
+    private BreedAbilities abilities = BreedAbilities.NONE;
     private DragonBreed breed;
     private int reproCount;
     private float ageProgress = 1; // default to adult
+    private float scale = 1; // cached; see updateScale
+    private EntityDimensions standingDimensions; // cached; see getDimensions
+    private EntityDimensions sittingDimensions;
+    private float dimensionsScale; // the scale the cached dimensions were made for
     private boolean flying;
     private boolean nearGround;
+    private final GroundProbe groundProbe = new GroundProbe();
+    private boolean lowDetail; // server only; see updateDetailLevel
+    private final BlockPos.MutableBlockPos wallCursor = new BlockPos.MutableBlockPos();
+    private AABB wallFreeBox; // the last bounding box we weren't suffocating in; see isInWall
+    private int wallFreeCheckedAt;
 
     private final GroundPathNavigation groundNavigation;
     private final FlyingPathNavigation flyingNavigation;
@@ -133,8 +149,8 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
         moveControl = new DragonMoveController(this);
         animator = level.isClientSide? new DragonAnimator(this) : null;
 
-        flyingNavigation = new FlyingPathNavigation(this, level);
-        groundNavigation = new GroundPathNavigation(this, level);
+        flyingNavigation = new DragonFlightNavigation(this, level);
+        groundNavigation = new DragonGroundNavigation(this, level);
 
         flyingNavigation.setCanFloat(true);
         groundNavigation.setCanFloat(true);
@@ -163,6 +179,10 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     @Override
     protected void registerGoals() // TODO: Much Smarter AI and features
     {
+        // called from the Mob constructor, before any goals are added to the vanilla selectors
+        goalSelector = new DragonGoalSelector(this);
+        targetSelector = new DragonGoalSelector(this);
+
 //        goalSelector.addGoal(1, new DragonLandGoal(this));
         goalSelector.addGoal(1, new FloatGoal(this));
         goalSelector.addGoal(2, new SitWhenOrderedToGoal(this));
@@ -185,7 +205,7 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     {
         super.defineSynchedData();
 
-        entityData.define(DATA_BREED,"");
+        entityData.define(DATA_BREED, -1);
         entityData.define(DATA_SADDLED, false);
         entityData.define(DATA_AGE, 0); // default to adult stage
     }
@@ -195,7 +215,8 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     {
         if (DATA_BREED.equals(data))
         {
-            setBreed(BreedRegistry.get(entityData.get(DATA_BREED), level().registryAccess()));
+            var breed = BreedRegistry.byNetworkId(entityData.get(DATA_BREED), level().registryAccess());
+            if (breed != null) setBreed(breed);
             updateAgeProperties();
         }
         else if (DATA_FLAGS_ID.equals(data)) refreshDimensions();
@@ -212,8 +233,8 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
 
         if (getBreed() != null) // breed is not read by the time the packet is being sent...
         {
-            compound.putString(NBT_BREED, getBreed().id(level().registryAccess()).toString());
-            for (var ability : getAbilities()) ability.write(this, compound);
+            compound.putString(NBT_BREED, getBreed().identity(level().registryAccess()).idString());
+            for (var ability : getAbilities(Ability.Hook.WRITE)) ability.write(this, compound);
         }
     }
 
@@ -230,7 +251,7 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
         setSaddled(compound.getBoolean(NBT_SADDLED));
         this.reproCount = compound.getInt(NBT_REPRO_COUNT);
 
-        for (var ability : getAbilities()) ability.read(this, compound);
+        for (var ability : getAbilities(Ability.Hook.READ)) ability.read(this, compound);
 
         // set sync age data after we read it in AgeableMob
         entityData.set(DATA_AGE, getAge());
@@ -243,7 +264,9 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
             if (breed != null) breed.close(this);
             this.breed = dragonBreed;
             breed.initialize(this);
-            getEntityData().set(DATA_BREED, breed.id(level().registryAccess()).toString());
+            updateAgeProgress(); // growth time and size modifier are per breed
+            updateScale();
+            getEntityData().set(DATA_BREED, BreedRegistry.getNetworkId(breed, level().registryAccess()));
         }
     }
 
@@ -266,9 +289,31 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
         return Optional.ofNullable(breed);
     }
 
+    /**
+     * @return an unmodifiable view of this dragon's abilities
+     */
     public List<Ability> getAbilities()
     {
-        return abilities;
+        return abilities.all();
+    }
+
+    /**
+     * @return only the abilities that implement the given hook, so the rest aren't called for nothing every tick/move.
+     * Shared with other dragons of the same breed, so don't modify it!
+     */
+    public Ability[] getAbilities(Ability.Hook hook)
+    {
+        return abilities.get(hook);
+    }
+
+    public void setAbilities(BreedAbilities abilities)
+    {
+        this.abilities = abilities;
+    }
+
+    public void clearAbilities()
+    {
+        abilities = BreedAbilities.NONE;
     }
 
     /**
@@ -340,6 +385,7 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
 
     public void setNavigation(boolean flying)
     {
+            ((DeferringNavigation) navigation).deferredPaths().cancel(); // a path for the other way of moving is no use anymore
             navigation = flying ?
                     flyingNavigation :
                     groundNavigation;
@@ -355,11 +401,10 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
 
         if (isServer())
         {
-            // periodically sync age data back to client
-            if (!isAdult() && tickCount % AGE_UPDATE_INTERVAL == 0) entityData.set(DATA_AGE, age);
-
             // heal randomly
             if (isAlive() && getRandom().nextFloat() < 0.001) heal(1f);
+
+            DragonMateIndex.of((ServerLevel) level()).update(this);
         }
         else
         {
@@ -372,8 +417,14 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
             else if (age > 0) setAge(--age);
         }
 
+        // age is synced by DragonAgeSync, so both sides catch up on growth themselves.
+        if (tickCount % AGE_UPDATE_INTERVAL == 0) applyAgeProperties();
+
+        if (isServer()) updateDetailLevel();
+        boolean fullDetail = isFullDetailTick();
+
         // update nearGround state when moving for flight and animation logic
-        nearGround = onGround() || !level().noCollision(this, new AABB(getX(), getY(), getZ(), getX(), getY() - (GROUND_CLEARENCE_THRESHOLD * getScale()), getZ()));
+        if (fullDetail) nearGround = onGround() || groundProbe.isNearGround(this, GROUND_CLEARENCE_THRESHOLD * getScale());
 
         // update flying state based on the distance to the ground
         boolean flying = shouldFly();
@@ -385,8 +436,41 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
             if (isServer()) setNavigation(flying);
         }
 
-        updateAgeProgress();
-        for (var ability : getAbilities()) ability.tick(this);
+        if (fullDetail)
+        {
+            updateAgeProgress();
+            for (var ability : getAbilities(Ability.Hook.TICK)) ability.tick(this);
+        }
+    }
+
+    /**
+     * Dragons that nobody is around to see (or that are sitting) tick their AI, abilities and ground/growth updates
+     * only every {@link DMLConfig#dragonLodInterval()} ticks. Tamed dragons parked at bases make up most dragons
+     * on a server, and they almost never interact with anything.
+     */
+    private void updateDetailLevel()
+    {
+        if ((tickCount + getId()) % LOD_CHECK_INTERVAL != 0) return; // staggered so they don't all check on the same tick
+
+        int radius = DMLConfig.dragonLodRadius();
+        boolean low = radius > 0
+                && !isVehicle()
+                && getTarget() == null
+                && (isOrderedToSit() || !level().hasNearbyAlivePlayer(getX(), getY(), getZ(), radius));
+        if (low != lowDetail)
+        {
+            lowDetail = low;
+            if (!low) updateAgeProgress(); // catch up on growth before anyone sees it
+        }
+    }
+
+    /**
+     * Whether this tick runs everything; low detail dragons only get one every {@link DMLConfig#dragonLodInterval()} ticks.
+     * Goal and target selection are throttled by {@link DragonGoalSelector}.
+     */
+    public boolean isFullDetailTick()
+    {
+        return !lowDetail || (tickCount + getId()) % DMLConfig.dragonLodInterval() == 0;
     }
 
     @Override
@@ -677,7 +761,7 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     protected Component getTypeName()
     {
         if (getBreed() != null)
-            return Component.translatable(DragonBreed.getTranslationKey(getBreed().id(level().registryAccess()).toString()));
+            return Component.translatable(getBreed().identity(level().registryAccess()).translationKey());
 
         return super.getTypeName();
     }
@@ -742,12 +826,35 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
      * 1.0 is the value representing the size for adult dragons.
      * We are essentially scaling linearly from baby size to adult size, base on ageProgress
      * This value can be manipulated using the breed's size modifier
+     * <br>
+     * Steps through {@link DMLConfig#growthStages()}; see {@link #getRenderScale()} for the smooth value.
      */
     @Override
     public float getScale()
+    {
+        return scale;
+    }
+
+    /**
+     * The same as {@link #getScale()}, but without growth stages, so hatchlings visibly grow smoothly.
+     */
+    public float getRenderScale()
+    {
+        return scaleAt(getAgeProgress());
+    }
+
+    /**
+     * Only needs to happen when age progress or the breed changes, which is never for adults.
+     */
+    private void updateScale()
+    {
+        scale = scaleAt(getGrowthStageProgress());
+    }
+
+    private float scaleAt(float ageProgress)
     {
         var mod = getBreed() == null? 1f : getBreed().sizeModifier();
-        return (0.33f + (0.67f * getAgeProgress())) * mod;
+        return (0.33f + (0.67f * ageProgress)) * mod;
     }
 
     /**
@@ -1041,9 +1148,13 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     @Override
     public EntityDimensions getDimensions(Pose poseIn)
     {
-        var height = isInSittingPose()? 2.15f : BASE_HEIGHT;
-        var scale = getScale();
-        return new EntityDimensions(BASE_WIDTH * scale, height * scale, false);
+        if (standingDimensions == null || dimensionsScale != scale)
+        {
+            dimensionsScale = scale;
+            standingDimensions = new EntityDimensions(BASE_WIDTH * scale, BASE_HEIGHT * scale, false);
+            sittingDimensions = new EntityDimensions(BASE_WIDTH * scale, 2.15f * scale, false);
+        }
+        return isInSittingPose()? sittingDimensions : standingDimensions;
     }
 
     @Override
@@ -1058,7 +1169,12 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
         float growth = -BASE_GROWTH_TIME;
         if (getBreed() != null) growth = -getBreed().growthTime();
         float min = Math.min(getAge(), 0);
-        ageProgress = 1 - (min / growth);
+        float progress = 1 - (min / growth);
+        if (progress != ageProgress)
+        {
+            ageProgress = progress;
+            updateScale();
+        }
     }
 
     public float getAgeProgress()
@@ -1067,27 +1183,55 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     }
 
     /**
-     * Updates properties/attributes/traits of dragons based on the current age scale.
-     * Also syncs the current age to the client.
-     * Called at an interval (of ticks) described by {@link TameableDragon#AGE_UPDATE_INTERVAL}
+     * Age progress rounded down to the current growth stage. Size and attributes follow this, so they only change
+     * (and sync) {@link DMLConfig#growthStages()} times while growing up, rather than every tick.
      */
-    @SuppressWarnings("ConstantConditions")
+    public float getGrowthStageProgress()
+    {
+        int stages = DMLConfig.growthStages();
+        if (stages <= 0 || ageProgress >= 1) return ageProgress;
+        return Mth.floor(ageProgress * stages) / (float) stages;
+    }
+
+    /**
+     * Called on the client by {@link DragonAgeSync} when our age drifted away from the server.
+     */
+    public void setSyncedAge(int age)
+    {
+        setAge(age);
+        applyAgeProperties();
+    }
+
     private void updateAgeProperties()
     {
         setAge(entityData.get(DATA_AGE));
+        applyAgeProperties();
+    }
+
+    /**
+     * Updates properties/attributes/traits of dragons based on the current age scale.
+     * Called at an interval (of ticks) described by {@link TameableDragon#AGE_UPDATE_INTERVAL},
+     * and whenever the age is set or synced.
+     */
+    @SuppressWarnings("ConstantConditions")
+    private void applyAgeProperties()
+    {
         updateAgeProgress();
-        refreshDimensions();
+        if (getBbWidth() != BASE_WIDTH * getScale()) refreshDimensions(); // hatchlings grow every tick, but their size only catches up here
 
         setMaxUpStep(Math.max(2 * getAgeProgress(), 1));
 
         // update attributes and health only on the server
         if (isServer())
         {
+            // negate modifier value since the operation is as follows: base_value += modifier * base_value
+            double modValue = -(1d - Math.max(getGrowthStageProgress(), 0.1));
+            var current = getAttribute(MAX_HEALTH).getModifier(SCALE_MODIFIER_UUID);
+            if (current != null && current.getAmount() == modValue) return; // same growth stage, nothing to update
+
             // health does not update on modifier application, so have to store the health frac first
             var healthFrac = getHealthFraction();
 
-            // negate modifier value since the operation is as follows: base_value += modifier * base_value
-            double modValue = -(1d - Math.max(getAgeProgress(), 0.1));
             var mod = new AttributeModifier(SCALE_MODIFIER_UUID, "Dragon size modifier", modValue, AttributeModifier.Operation.MULTIPLY_BASE);
             for (var attribute : new Attribute[]{MAX_HEALTH, ATTACK_DAMAGE, }) // avoid duped code
             {
@@ -1168,23 +1312,25 @@ public class TameableDragon extends TamableAnimal implements Saddleable, FlyingA
     protected void onChangedBlock(BlockPos pos)
     {
         super.onChangedBlock(pos);
-        for (var ability : getAbilities()) ability.onMove(this);
+        for (var ability : getAbilities(Ability.Hook.MOVE)) ability.onMove(this);
     }
 
     @Override
     public boolean isInWall()
     {
         if (noPhysics) return false;
-        else
-        {
-            // Reduce suffocation risks. They're fat and clusmy.
-            var collider = getBoundingBox().deflate(getBbWidth() * 0.2f);
-            return BlockPos.betweenClosedStream(collider).anyMatch((pos) ->
-            {
-                BlockState state = level().getBlockState(pos);
-                return !state.isAir() && state.isSuffocating(level(), pos) && Shapes.joinIsNotEmpty(state.getCollisionShape(level(), pos).move(pos.getX(), pos.getY(), pos.getZ()), Shapes.create(collider), BooleanOp.AND);
-            });
-        }
+
+        // big dragons cover dozens of blocks, so don't rescan if we haven't moved since we were last free.
+        // still recheck every now and then, blocks can be placed inside of us.
+        var box = getBoundingBox();
+        if (box.equals(wallFreeBox) && tickCount - wallFreeCheckedAt < WALL_RECHECK_INTERVAL) return false;
+
+        // Reduce suffocation risks. They're fat and clusmy.
+        if (DMLUtil.isSuffocating(level(), box, getBbWidth() * 0.2f, wallCursor)) return true;
+
+        wallFreeBox = box;
+        wallFreeCheckedAt = tickCount;
+        return false;
     }
 
     @Override
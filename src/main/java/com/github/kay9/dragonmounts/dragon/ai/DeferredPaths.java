@@ -0,0 +1,128 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import com.github.kay9.dragonmounts.DMLConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.level.pathfinder.Path;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Defers a dragon navigation's path requests to the level's {@link PathQueue}, so many dragons re-pathing on the
+ * same tick (an owner teleporting away from their flock) don't all search on that tick.
+ * <br>
+ * Requests through {@code moveTo} are only deferred while the dragon still has a path to follow, which it keeps
+ * following until the new one arrives. Without one, the goal asking would see the navigation as done and give up,
+ * so those are computed right away, as usual. <br>
+ * Requests through {@link #queue} are always deferred; the caller is expected to check {@link #isPending()}. <br>
+ * Callers of {@code createPath} expect a path to the target they asked for (or null if there isn't one),
+ * so those are never deferred. Queued searches run on the server thread, like any other.
+ */
+public class DeferredPaths
+{
+    private final PathNavigation navigation;
+    private final Mob mob;
+    private int generation; // bumped by every request and stop, so only the latest request gets applied
+    @Nullable private Request pending;
+
+    public DeferredPaths(PathNavigation navigation, Mob mob)
+    {
+        this.navigation = navigation;
+        this.mob = mob;
+    }
+
+    /**
+     * @param vanilla the vanilla {@code moveTo}, called if the request can't be deferred
+     * @param compute computes the path, when the deferred request gets its turn
+     * @return whether the dragon has a path to follow, like {@code moveTo}
+     */
+    public boolean moveTo(BlockPos target, double speed, BooleanSupplier vanilla, Supplier<Path> compute)
+    {
+        var current = navigation.getPath();
+        boolean following = current != null && !current.isDone() && !target.equals(current.getTarget()); // vanilla keeps the current path for the same target anyway
+        if (!following || !canDefer())
+        {
+            cancel(); // vanilla replaces the path right away, an older deferred one must not overwrite it later
+            return vanilla.getAsBoolean();
+        }
+
+        submit(speed, compute, null);
+        return true;
+    }
+
+    /**
+     * Queue a path, even if the dragon has none to follow in the meantime.
+     *
+     * @param computed called on the server thread with the path once it's applied. Not called if the request was
+     *                 replaced or stopped first.
+     */
+    public void queue(double speed, Supplier<Path> compute, @Nullable Consumer<Path> computed)
+    {
+        if (canDefer()) submit(speed, compute, computed);
+        else
+        {
+            cancel();
+            var path = compute.get();
+            navigation.moveTo(path, speed);
+            if (computed != null) computed.accept(path);
+        }
+    }
+
+    /**
+     * @return whether a deferred request is still waiting for its turn
+     */
+    public boolean isPending()
+    {
+        return pending != null && !pending.isStale();
+    }
+
+    public void cancel()
+    {
+        generation++;
+        pending = null;
+    }
+
+    private boolean canDefer()
+    {
+        return mob.level() instanceof ServerLevel && DMLConfig.dragonPathBudget() > 0;
+    }
+
+    private void submit(double speed, Supplier<Path> compute, @Nullable Consumer<Path> computed)
+    {
+        PathQueue.of((ServerLevel) mob.level()).submit(pending = new Request(++generation, speed, compute, computed));
+    }
+
+    public class Request
+    {
+        private final int generation;
+        private final double speed;
+        private final Supplier<Path> compute;
+        @Nullable private final Consumer<Path> computed;
+
+        private Request(int generation, double speed, Supplier<Path> compute, @Nullable Consumer<Path> computed)
+        {
+            this.generation = generation;
+            this.speed = speed;
+            this.compute = compute;
+            this.computed = computed;
+        }
+
+        public boolean isStale()
+        {
+            return generation != DeferredPaths.this.generation || mob.isRemoved();
+        }
+
+        public void run()
+        {
+            pending = null;
+            var path = compute.get();
+            navigation.moveTo(path, speed); // a null path stops the dragon, as vanilla would have
+            if (computed != null) computed.accept(path);
+        }
+    }
+}
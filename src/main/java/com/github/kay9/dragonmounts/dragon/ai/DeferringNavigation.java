@@ -0,0 +1,9 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+/**
+ * A navigation whose path requests go through {@link DeferredPaths}.
+ */
+public interface DeferringNavigation
+{
+    DeferredPaths deferredPaths();
+}
@@ -8,8 +8,6 @@ import net.minecraft.world.level.GameRules;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.living.BabyEntitySpawnEvent;
 
-import java.util.List;
-
 public class DragonBreedGoal extends BreedGoal
 {
     private final TameableDragon dragon;
@@ -30,20 +28,7 @@ public class DragonBreedGoal extends BreedGoal
 
     public TameableDragon getNearbyMate()
     {
-        List<TameableDragon> list = level.getEntitiesOfClass(TameableDragon.class, dragon.getBoundingBox().inflate(8d));
-        double dist = Double.MAX_VALUE;
-        TameableDragon closest = null;
-
-        for (TameableDragon entity : list)
-        {
-            if (dragon.canMate(entity) && dragon.distanceToSqr(entity) < dist)
-            {
-                closest = entity;
-                dist = dragon.distanceToSqr(entity);
-            }
-        }
-
-        return closest;
+        return DragonMateIndex.of((ServerLevel) level).findMate(dragon, 8d);
     }
 
     @Override
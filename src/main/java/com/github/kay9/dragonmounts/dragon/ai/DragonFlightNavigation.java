@@ -0,0 +1,55 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.navigation.FlyingPathNavigation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.pathfinder.PathFinder;
+
+/**
+ * Flying navigation that plans with {@link DragonFlightPathFinder} instead of block by block.
+ * New paths are deferred through {@link DeferredPaths}.
+ * Everything else (following paths, the node evaluator used for multi-target requests) stays vanilla.
+ */
+public class DragonFlightNavigation extends FlyingPathNavigation implements DeferringNavigation
+{
+    private final DeferredPaths deferred = new DeferredPaths(this, mob);
+
+    public DragonFlightNavigation(Mob mob, Level level)
+    {
+        super(mob, level);
+    }
+
+    @Override
+    protected PathFinder createPathFinder(int maxVisitedNodes)
+    {
+        super.createPathFinder(maxVisitedNodes); // sets up the node evaluator
+        return new DragonFlightPathFinder(nodeEvaluator, maxVisitedNodes);
+    }
+
+    @Override
+    public boolean moveTo(double x, double y, double z, double speed)
+    {
+        return deferred.moveTo(BlockPos.containing(x, y, z), speed, () -> super.moveTo(x, y, z, speed), () -> createPath(x, y, z, 1));
+    }
+
+    @Override
+    public boolean moveTo(Entity entity, double speed)
+    {
+        return deferred.moveTo(entity.blockPosition(), speed, () -> super.moveTo(entity, speed), () -> createPath(entity, 1));
+    }
+
+    @Override
+    public DeferredPaths deferredPaths()
+    {
+        return deferred;
+    }
+
+    @Override
+    public void stop()
+    {
+        deferred.cancel();
+        super.stop();
+    }
+}
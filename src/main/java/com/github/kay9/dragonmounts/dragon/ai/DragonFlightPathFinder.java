@@ -0,0 +1,288 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import it.unimi.dsi.fastutil.longs.*;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.EmptyLevelChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
+import net.minecraft.world.level.pathfinder.Path;
+import net.minecraft.world.level.pathfinder.PathFinder;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Plans flights over a coarse grid of cells the size of the dragon's hitbox, rather than over every single block.
+ * <br>
+ * An adult dragon is 3 blocks wide, so a cell covers 27 blocks and a long flight needs a fraction of the nodes the
+ * vanilla fly evaluator visits (which is why it used to give up on long routes). Cells above the
+ * {@link Heightmap.Types#MOTION_BLOCKING motion blocking} heightmap are open air and aren't collision checked at all,
+ * and if the straight line to the target only crosses free cells, no search happens at all. <br>
+ * When the target only moved a little since the last path (following a player), the rest of the last path is reused
+ * from wherever the dragon currently is on it.
+ * <br>
+ * Requests with more than one target are left to vanilla.
+ */
+public class DragonFlightPathFinder extends PathFinder
+{
+    private static final int[][] NEIGHBORS = neighbors();
+
+    private final int maxVisitedNodes;
+
+    // last path, for reuse
+    private List<Node> lastNodes = List.of();
+    private BlockPos lastTarget;
+    private boolean lastReached;
+    private int lastCellSize;
+
+    // per search
+    private PathNavigationRegion region;
+    private Mob mob;
+    private int cellSize;
+    private double cellOffset;
+    private final Long2ByteOpenHashMap free = new Long2ByteOpenHashMap(); // 0 = unknown, 1 = free, 2 = blocked
+
+    public DragonFlightPathFinder(NodeEvaluator evaluator, int maxVisitedNodes)
+    {
+        super(evaluator, maxVisitedNodes);
+        this.maxVisitedNodes = maxVisitedNodes;
+    }
+
+    @Nullable
+    @Override
+    public Path findPath(PathNavigationRegion region, Mob mob, Set<BlockPos> targets, float maxRange, int accuracy, float searchDepthMultiplier)
+    {
+        if (targets.size() != 1) return super.findPath(region, mob, targets, maxRange, accuracy, searchDepthMultiplier);
+
+        var target = targets.iterator().next();
+        this.region = region;
+        this.mob = mob;
+        this.cellSize = Math.max(Mth.ceil(mob.getBbWidth()), 1);
+        this.cellOffset = (int) (mob.getBbWidth() + 1) * 0.5; // mirrors Path#getEntityPosAtNode
+        try
+        {
+            var path = reuse(target);
+            if (path == null) path = straight(target);
+            if (path == null) path = search(target, accuracy, (int) (maxVisitedNodes * searchDepthMultiplier));
+
+            lastNodes = nodes(path);
+            lastTarget = target;
+            lastReached = path.canReach();
+            lastCellSize = cellSize;
+            return path;
+        }
+        finally
+        {
+            this.region = null;
+            this.mob = null;
+            free.clear();
+        }
+    }
+
+    /**
+     * Continue the last path from wherever we are on it, if its target is still close enough to the new one.
+     */
+    @Nullable
+    private Path reuse(BlockPos target)
+    {
+        if (lastTarget == null || !lastReached || lastCellSize != cellSize || lastNodes.size() < 2) return null;
+        if (lastTarget.distManhattan(target) > cellSize) return null;
+
+        int closest = -1;
+        double closestDist = cellSize * cellSize * 2.25; // must still be on it; within 1.5 cells of a node
+        for (int i = 0; i < lastNodes.size() - 1; i++)
+        {
+            var node = lastNodes.get(i);
+            double dist = mob.distanceToSqr(node.x + cellOffset, node.y, node.z + cellOffset);
+            if (dist < closestDist)
+            {
+                closest = i;
+                closestDist = dist;
+            }
+        }
+        if (closest == -1) return null;
+
+        var nodes = new ArrayList<>(lastNodes.subList(closest, lastNodes.size() - 1));
+        if (!isFree(cellOf(target.getX()), cellOf(target.getY()), cellOf(target.getZ()))) return null;
+        nodes.add(new Node(target.getX(), target.getY(), target.getZ()));
+        return new Path(nodes, target, true);
+    }
+
+    /**
+     * Open air (or a clear line of sight) needs no search: fly straight there.
+     */
+    @Nullable
+    private Path straight(BlockPos target)
+    {
+        double dx = target.getX() + 0.5 - mob.getX();
+        double dy = target.getY() - mob.getY();
+        double dz = target.getZ() + 0.5 - mob.getZ();
+        double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        int steps = Mth.ceil(length / (cellSize * 0.5));
+        for (int i = 1; i <= steps; i++)
+        {
+            double t = i / (double) steps;
+            if (!isFree(cellOf(mob.getX() + dx * t), cellOf(mob.getY() + dy * t), cellOf(mob.getZ() + dz * t)))
+                return null;
+        }
+
+        var start = new Node(cellOf(mob.getX()) * cellSize, cellOf(mob.getY()) * cellSize, cellOf(mob.getZ()) * cellSize);
+        return new Path(new ArrayList<>(List.of(start, new Node(target.getX(), target.getY(), target.getZ()))), target, true); // navigation trims paths in place
+    }
+
+    /**
+     * A* over cells. If the target can't be reached within the budget, the path leads to the cell that got closest.
+     */
+    private Path search(BlockPos target, int accuracy, int budget)
+    {
+        int tx = cellOf(target.getX()), ty = cellOf(target.getY()), tz = cellOf(target.getZ());
+        long start = BlockPos.asLong(cellOf(mob.getX()), cellOf(mob.getY()), cellOf(mob.getZ()));
+        double reach = (accuracy + cellSize) * (accuracy + cellSize);
+
+        var cost = new Long2DoubleOpenHashMap();
+        var parents = new Long2LongOpenHashMap();
+        var closed = new LongOpenHashSet();
+        var open = new PriorityQueue<Open>();
+        cost.put(start, 0);
+        open.add(new Open(start, heuristic(start, tx, ty, tz)));
+
+        long best = start;
+        double bestHeuristic = Double.MAX_VALUE;
+        boolean reached = false;
+        while (!open.isEmpty() && closed.size() < budget)
+        {
+            long cell = open.poll().cell;
+            if (!closed.add(cell)) continue;
+
+            double h = heuristic(cell, tx, ty, tz);
+            if (h < bestHeuristic)
+            {
+                best = cell;
+                bestHeuristic = h;
+            }
+            if (distSqr(cell, target) <= reach)
+            {
+                best = cell;
+                reached = true;
+                break;
+            }
+
+            int x = BlockPos.getX(cell), y = BlockPos.getY(cell), z = BlockPos.getZ(cell);
+            double g = cost.get(cell);
+            for (var n : NEIGHBORS)
+            {
+                long next = BlockPos.asLong(x + n[0], y + n[1], z + n[2]);
+                if (closed.contains(next) || !canMove(x, y, z, n)) continue;
+
+                double nextCost = g + Math.sqrt(n[0] * n[0] + n[1] * n[1] + n[2] * n[2]);
+                if (nextCost < cost.getOrDefault(next, Double.MAX_VALUE))
+                {
+                    cost.put(next, nextCost);
+                    parents.put(next, cell);
+                    open.add(new Open(next, nextCost + heuristic(next, tx, ty, tz)));
+                }
+            }
+        }
+
+        var nodes = new ArrayList<Node>();
+        if (reached) nodes.add(new Node(target.getX(), target.getY(), target.getZ()));
+        for (long cell = best; ; cell = parents.get(cell))
+        {
+            nodes.add(new Node(BlockPos.getX(cell) * cellSize, BlockPos.getY(cell) * cellSize, BlockPos.getZ(cell) * cellSize));
+            if (cell == start) break;
+        }
+        Collections.reverse(nodes);
+        return new Path(nodes, target, reached);
+    }
+
+    /**
+     * Diagonal moves also need the cells they cut through to be free, or we'd clip corners.
+     */
+    private boolean canMove(int x, int y, int z, int[] n)
+    {
+        if (!isFree(x + n[0], y + n[1], z + n[2])) return false;
+        if (Math.abs(n[0]) + Math.abs(n[1]) + Math.abs(n[2]) == 1) return true;
+        return (n[0] == 0 || isFree(x + n[0], y, z))
+                && (n[1] == 0 || isFree(x, y + n[1], z))
+                && (n[2] == 0 || isFree(x, y, z + n[2]));
+    }
+
+    private boolean isFree(int cx, int cy, int cz)
+    {
+        long key = BlockPos.asLong(cx, cy, cz);
+        byte state = free.get(key);
+        if (state == 0) free.put(key, state = computeFree(cx, cy, cz)? (byte) 1 : (byte) 2);
+        return state == 1;
+    }
+
+    private boolean computeFree(int cx, int cy, int cz)
+    {
+        var box = mob.getDimensions(mob.getPose()).makeBoundingBox(cx * cellSize + cellOffset, cy * cellSize, cz * cellSize + cellOffset);
+        if (box.minY < region.getMinBuildHeight() || box.maxY > region.getMaxBuildHeight()) return false;
+
+        // open air above the heightmap can't collide with anything
+        boolean aboveGround = true;
+        for (int x = Mth.floor(box.minX); x <= Mth.floor(box.maxX) && aboveGround; x++)
+            for (int z = Mth.floor(box.minZ); z <= Mth.floor(box.maxZ) && aboveGround; z++)
+            {
+                if (!(region.getChunkForCollisions(x >> 4, z >> 4) instanceof ChunkAccess chunk) || chunk instanceof EmptyLevelChunk)
+                    return false; // outside of the region; don't go there
+                if (box.minY < chunk.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z) + 1) aboveGround = false; // + 1; that's the top block, not the air above it
+            }
+        return aboveGround || region.noCollision(mob, box);
+    }
+
+    private int cellOf(double coord)
+    {
+        return Mth.floor(coord / cellSize);
+    }
+
+    private double heuristic(long cell, int tx, int ty, int tz)
+    {
+        double dx = BlockPos.getX(cell) - tx, dy = BlockPos.getY(cell) - ty, dz = BlockPos.getZ(cell) - tz;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private double distSqr(long cell, BlockPos target)
+    {
+        double dx = BlockPos.getX(cell) * cellSize + cellOffset - (target.getX() + 0.5);
+        double dy = BlockPos.getY(cell) * cellSize - target.getY();
+        double dz = BlockPos.getZ(cell) * cellSize + cellOffset - (target.getZ() + 0.5);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static List<Node> nodes(Path path)
+    {
+        var nodes = new ArrayList<Node>(path.getNodeCount());
+        for (int i = 0; i < path.getNodeCount(); i++) nodes.add(path.getNode(i));
+        return nodes;
+    }
+
+    private static int[][] neighbors()
+    {
+        var neighbors = new ArrayList<int[]>(26);
+        for (int x = -1; x <= 1; x++)
+            for (int y = -1; y <= 1; y++)
+                for (int z = -1; z <= 1; z++)
+                    if (x != 0 || y != 0 || z != 0) neighbors.add(new int[]{x, y, z});
+        return neighbors.toArray(int[][]::new);
+    }
+
+    private record Open(long cell, double score) implements Comparable<Open>
+    {
+        @Override
+        public int compareTo(Open o)
+        {
+            return Double.compare(score, o.score);
+        }
+    }
+}
@@ -2,14 +2,10 @@ package com.github.kay9.dragonmounts.dragon.ai;
 
 import com.github.kay9.dragonmounts.dragon.TameableDragon;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.goal.Goal;
-import net.minecraft.world.level.LevelReader;
-import net.minecraft.world.level.block.LeavesBlock;
-import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.pathfinder.BlockPathTypes;
-import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
-import net.minecraft.world.phys.AABB;
 
 import java.util.EnumSet;
 
@@ -25,13 +21,8 @@ import java.util.EnumSet;
  */
 public class DragonFollowOwnerGoal extends Goal
 {
-    private static final int MIN_HORIZONTAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING = 2;
-    private static final int MAX_HORIZONTAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING = 3;
-    private static final int MIN_VERTICAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING = 0;
-    private static final int MAX_VERTICAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING = 1;
     private final TameableDragon dragon;
     private LivingEntity owner;
-    private final LevelReader level;
     private final double speedModifier;
     private int timeToRecalcPath;
     private final float stopDistance;
@@ -42,7 +33,6 @@ public class DragonFollowOwnerGoal extends Goal
     public DragonFollowOwnerGoal(TameableDragon dragon, double speedModifier, float startDistance, float stopDistance, float teleportDistance)
     {
         this.dragon = dragon;
-        this.level = dragon.level();
         this.speedModifier = speedModifier;
         this.startDistance = startDistance;
         this.stopDistance = stopDistance;
@@ -75,7 +65,7 @@ public class DragonFollowOwnerGoal extends Goal
 
     public boolean canContinueToUse()
     {
-        if (dragon.getNavigation().isDone())
+        if (dragon.getNavigation().isDone() && !deferredPaths().isPending()) // still waiting on its path
         {
             return false;
         }
@@ -120,95 +110,50 @@ public class DragonFollowOwnerGoal extends Goal
                 }
                 else
                 {
-                    dragon.getNavigation().moveTo(this.owner, speedModifier);
+                    moveToOwner();
                 }
 
             }
         }
     }
 
-    private void teleportToOwner()
+    private void moveToOwner()
     {
-        BlockPos ownerPos = this.owner.blockPosition();
+        var deferred = deferredPaths();
+        if (deferred.isPending()) return; // one request at a time; it paths to wherever the owner is when it runs
 
-        for(int i = 0; i < 10; ++i)
+        // dragons of the same owner share their paths, they'd all compute the same one anyway.
+        var cache = FollowPathCache.of((ServerLevel) dragon.level());
+        var path = cache.get(dragon, owner);
+        if (path != null)
         {
-            BlockPos target = randomBlockPosNearPos(
-                    ownerPos,
-                    MIN_HORIZONTAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING,
-                    MAX_HORIZONTAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING,
-                    MIN_VERTICAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING,
-                    MAX_VERTICAL_DISTANCE_FROM_PLAYER_WHEN_TELEPORTING
-            );
-            boolean flag = maybeTeleportTo(target);
-            if (flag)
-            {
-                return;
-            }
+            deferred.cancel();
+            dragon.getNavigation().moveTo(path, speedModifier);
+            return;
         }
 
-    }
-
-    private boolean maybeTeleportTo(BlockPos pos)
-    {
-        if (this.owner.blockPosition().closerThan(pos, 2.0D))
-        {
-            return false;
-        }
-        if (!canTeleportTo(pos))
+        // queued, so a flock re-pathing at once (say, after their owner teleported) is spread over a few ticks
+        var owner = this.owner;
+        deferred.queue(speedModifier, () -> dragon.getNavigation().createPath(owner, 1), computed ->
         {
-            return false;
-        }
-        dragon.moveTo(pos.getX() + 0.5D, pos.getY(), pos.getZ(), dragon.getYRot(), dragon.getXRot());
-        dragon.getNavigation().stop();
-        return true;
+            // only share fresh paths to where the owner is now; navigation hands back the current path if it still fits
+            if (computed != null && computed.getNextNodeIndex() == 0 && computed.getTarget().equals(owner.blockPosition()))
+                cache.put(dragon, owner, computed);
+        });
     }
 
-    private boolean canTeleportTo(BlockPos pos)
+    private DeferredPaths deferredPaths()
     {
-        if (!dragon.canFly())
-        {
-            BlockPathTypes blockpathtypes = WalkNodeEvaluator.getBlockPathTypeStatic(level, pos.mutable());
-            if (blockpathtypes != BlockPathTypes.WALKABLE)
-            {
-                return false;
-            }
-
-            BlockState blockstate = level.getBlockState(pos.below());
-            if (blockstate.getBlock() instanceof LeavesBlock)
-            {
-                return false;
-            }
-        }
-
-        BlockPos blockPos = pos.subtract(dragon.blockPosition());
-        AABB targetBoundingBox = dragon.getBoundingBox().move(blockPos);
-        return level.noCollision(dragon, targetBoundingBox)
-                && !level.containsAnyLiquid(targetBoundingBox);
-    }
-
-    private int randomIntInclusive(int min, int max)
-    {
-        return dragon.getRandom().nextInt(max - min + 1) + min;
+        return ((DeferringNavigation) dragon.getNavigation()).deferredPaths();
     }
 
-    private int randomIntInclusive(int farLow, int nearLow, int nearHigh, int farHigh)
+    private void teleportToOwner()
     {
-        if (nearLow == nearHigh)
-        {
-            return randomIntInclusive(farLow, farHigh);
-        }
+        // every dragon of this owner would sweep the same spots around them, so they share them.
+        BlockPos target = LandingSpotCache.of((ServerLevel) dragon.level()).get(dragon, owner);
+        if (target == null) return;
 
-        return dragon.getRandom().nextBoolean() ?
-                randomIntInclusive(farLow, nearLow) :
-                randomIntInclusive(nearHigh, farHigh);
-    }
-
-    private BlockPos randomBlockPosNearPos(BlockPos origin, int minDist, int maxDist, int minYDist, int maxYDist)
-    {
-        int x = randomIntInclusive(-maxDist, -minDist, minDist, maxDist);
-        int y = randomIntInclusive(-maxYDist, -minYDist, minYDist, maxYDist);
-        int z = randomIntInclusive(-maxDist, -minDist, minDist, maxDist);
-        return origin.offset(x, y, z);
+        dragon.moveTo(target.getX() + 0.5D, target.getY(), target.getZ() + 0.5D, dragon.getYRot(), dragon.getXRot());
+        dragon.getNavigation().stop();
     }
 }
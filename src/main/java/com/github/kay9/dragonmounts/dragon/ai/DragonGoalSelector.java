@@ -0,0 +1,33 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import net.minecraft.world.entity.ai.goal.GoalSelector;
+
+/**
+ * Goal selector that only runs on the dragon's {@link TameableDragon#isFullDetailTick() full detail ticks}.
+ * <br>
+ * Low detail dragons skip goal/target selection and their running goals in between. Navigation and the move/look/jump
+ * controls are ticked by the mob itself, not here, so a dragon that's still walking somewhere doesn't stutter.
+ */
+public class DragonGoalSelector extends GoalSelector
+{
+    private final TameableDragon dragon;
+
+    public DragonGoalSelector(TameableDragon dragon)
+    {
+        super(dragon.level().getProfilerSupplier());
+        this.dragon = dragon;
+    }
+
+    @Override
+    public void tick()
+    {
+        if (dragon.isFullDetailTick()) super.tick();
+    }
+
+    @Override
+    public void tickRunningGoals(boolean tickAllRunning)
+    {
+        if (dragon.isFullDetailTick()) super.tickRunningGoals(tickAllRunning);
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.navigation.GroundPathNavigation;
+import net.minecraft.world.level.Level;
+
+/**
+ * Ground navigation that defers new paths through {@link DeferredPaths}.
+ */
+public class DragonGroundNavigation extends GroundPathNavigation implements DeferringNavigation
+{
+    private final DeferredPaths deferred = new DeferredPaths(this, mob);
+
+    public DragonGroundNavigation(Mob mob, Level level)
+    {
+        super(mob, level);
+    }
+
+    @Override
+    public boolean moveTo(double x, double y, double z, double speed)
+    {
+        return deferred.moveTo(BlockPos.containing(x, y, z), speed, () -> super.moveTo(x, y, z, speed), () -> createPath(x, y, z, 1));
+    }
+
+    @Override
+    public boolean moveTo(Entity entity, double speed)
+    {
+        return deferred.moveTo(entity.blockPosition(), speed, () -> super.moveTo(entity, speed), () -> createPath(entity, 1));
+    }
+
+    @Override
+    public DeferredPaths deferredPaths()
+    {
+        return deferred;
+    }
+
+    @Override
+    public void stop()
+    {
+        deferred.cancel();
+        super.stop();
+    }
+}
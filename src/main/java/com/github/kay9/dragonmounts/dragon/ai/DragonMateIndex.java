@@ -0,0 +1,104 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per level index of the dragons that are ready to breed right now (adult, in love and able to reproduce),
+ * bucketed by the chunk section they're in.
+ * <br>
+ * {@link DragonBreedGoal} used to ask the level for every dragon around each dragon in love, so a crowded pen did
+ * n² work on dragons that mostly weren't candidates at all. Dragons keep their own entry up to date every tick,
+ * which is only a map lookup for dragons that aren't in love.
+ * <br>
+ * Dragons are bucketed by their position, but found by their bounding box, so lookups reach out by the largest box
+ * indexed since the index was last empty. Size modifiers can make that box a lot bigger than the base one.
+ */
+public class DragonMateIndex
+{
+    private final Long2ObjectOpenHashMap<List<TameableDragon>> sections = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongOpenHashMap<TameableDragon> keys = new Reference2LongOpenHashMap<>();
+    private double maxHalfWidth; // how far a box reaches past its dragon's position sideways...
+    private double maxHeight; // ...and upwards
+
+    public static DragonMateIndex of(ServerLevel level)
+    {
+        return ((ServerLevelAccess) level).getDragonMateIndex();
+    }
+
+    /**
+     * Called by dragons every tick on the server.
+     */
+    public void update(TameableDragon dragon)
+    {
+        if (!dragon.isInLove() || !dragon.isAdult() || !dragon.canReproduce())
+        {
+            if (!keys.isEmpty()) remove(dragon);
+            return;
+        }
+
+        // checked every tick, since a dragon's size can change while it's indexed
+        maxHalfWidth = Math.max(maxHalfWidth, dragon.getBbWidth() / 2d);
+        maxHeight = Math.max(maxHeight, dragon.getBbHeight());
+
+        long key = SectionPos.asLong(dragon.blockPosition());
+        if (keys.containsKey(dragon))
+        {
+            if (keys.getLong(dragon) == key) return;
+            remove(dragon);
+        }
+        keys.put(dragon, key);
+        sections.computeIfAbsent(key, k -> new ArrayList<>(2)).add(dragon);
+    }
+
+    public void remove(TameableDragon dragon)
+    {
+        if (!keys.containsKey(dragon)) return;
+        long key = keys.removeLong(dragon);
+        var dragons = sections.get(key);
+        if (dragons != null && dragons.remove(dragon) && dragons.isEmpty()) sections.remove(key);
+        if (keys.isEmpty()) maxHalfWidth = maxHeight = 0;
+    }
+
+    /**
+     * @return the closest dragon the given dragon can mate with, whose bounding box is within range of its own.
+     */
+    @Nullable
+    public TameableDragon findMate(TameableDragon dragon, double range)
+    {
+        if (keys.size() < 2) return null; // we'd need someone other than ourselves
+
+        var area = dragon.getBoundingBox().inflate(range);
+        double dist = Double.MAX_VALUE;
+        TameableDragon closest = null;
+
+        for (int sx = SectionPos.blockToSectionCoord(area.minX - maxHalfWidth); sx <= SectionPos.blockToSectionCoord(area.maxX + maxHalfWidth); sx++)
+            for (int sy = SectionPos.blockToSectionCoord(area.minY - maxHeight); sy <= SectionPos.blockToSectionCoord(area.maxY); sy++)
+                for (int sz = SectionPos.blockToSectionCoord(area.minZ - maxHalfWidth); sz <= SectionPos.blockToSectionCoord(area.maxZ + maxHalfWidth); sz++)
+                {
+                    var dragons = sections.get(SectionPos.asLong(sx, sy, sz));
+                    if (dragons == null) continue;
+                    for (var candidate : dragons)
+                    {
+                        if (!dragon.canMate(candidate) || !candidate.getBoundingBox().intersects(area)) continue;
+
+                        double d = dragon.distanceToSqr(candidate);
+                        if (d < dist)
+                        {
+                            closest = candidate;
+                            dist = d;
+                        }
+                    }
+                }
+
+        return closest;
+    }
+}
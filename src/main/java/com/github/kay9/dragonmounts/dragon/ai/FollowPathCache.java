@@ -0,0 +1,117 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per level cache of the paths dragons computed to follow their owner, shared between dragons of the same owner.
+ * <br>
+ * A player with a flock of dragons made every one of them path to the same player every 10 ticks, and
+ * the paths of dragons that start out next to each other are practically the same. A cached path is reused by
+ * another dragon of the same owner, navigation mode and size if it starts within {@link #START_DISTANCE} blocks
+ * of where the path was computed from, and is dropped as soon as the owner moved {@link #OWNER_DISTANCE} blocks
+ * away from where it led to, or after {@link #MAX_AGE} ticks.
+ * <br>
+ * Navigation trims and advances the paths it follows, so paths are copied going in and out.
+ */
+public class FollowPathCache
+{
+    public static final int START_DISTANCE = 2;
+    public static final int OWNER_DISTANCE = 2;
+    public static final int MAX_AGE = 40;
+    private static final int MAX_PATHS = 4; // per key; a flock rarely spreads out that much
+    private static final int SWEEP_INTERVAL = 200;
+
+    private final ServerLevel level;
+    private final Map<Key, List<Entry>> paths = new HashMap<>();
+    private long lastSweep;
+
+    public FollowPathCache(ServerLevel level)
+    {
+        this.level = level;
+    }
+
+    public static FollowPathCache of(ServerLevel level)
+    {
+        return ((ServerLevelAccess) level).getFollowPathCache();
+    }
+
+    /**
+     * @return a copy of a path another dragon computed towards the owner from around here, or null if there isn't one
+     */
+    @Nullable
+    public Path get(TameableDragon dragon, Entity owner)
+    {
+        var entries = paths.get(Key.of(dragon, owner));
+        if (entries == null) return null;
+
+        long now = level.getGameTime();
+        var start = dragon.blockPosition();
+        var ownerPos = owner.blockPosition();
+        for (var it = entries.iterator(); it.hasNext(); )
+        {
+            var entry = it.next();
+            if (now - entry.createdAt > MAX_AGE || !entry.ownerPos.closerThan(ownerPos, OWNER_DISTANCE))
+                it.remove();
+            else if (entry.start.closerThan(start, START_DISTANCE))
+                return copy(entry.path);
+        }
+        return null;
+    }
+
+    public void put(TameableDragon dragon, Entity owner, Path path)
+    {
+        long now = level.getGameTime();
+        if (now - lastSweep >= SWEEP_INTERVAL) sweep(now);
+
+        var entries = paths.computeIfAbsent(Key.of(dragon, owner), k -> new ArrayList<>(MAX_PATHS));
+        if (entries.size() >= MAX_PATHS) entries.remove(0); // oldest
+        entries.add(new Entry(copy(path), dragon.blockPosition(), owner.blockPosition(), now));
+    }
+
+    /**
+     * Owners that stopped being followed never get looked up again, so their paths have to be dropped eventually.
+     */
+    private void sweep(long now)
+    {
+        lastSweep = now;
+        paths.values().removeIf(entries ->
+        {
+            entries.removeIf(e -> now - e.createdAt > MAX_AGE);
+            return entries.isEmpty();
+        });
+    }
+
+    private static Path copy(Path path)
+    {
+        var nodes = new ArrayList<Node>(path.getNodeCount());
+        for (int i = 0; i < path.getNodeCount(); i++) nodes.add(path.getNode(i));
+        return new Path(nodes, path.getTarget(), path.canReach());
+    }
+
+    /**
+     * Paths depend on how a dragon moves, which depends on whether it flies and how big it is.
+     */
+    private record Key(UUID owner, boolean flying, int width)
+    {
+        private static Key of(TameableDragon dragon, Entity owner)
+        {
+            return new Key(owner.getUUID(), dragon.isFlying(), Mth.ceil(dragon.getBbWidth()));
+        }
+    }
+
+    private record Entry(Path path, BlockPos start, BlockPos ownerPos, long createdAt) {}
+}
@@ -0,0 +1,135 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.dragon.TameableDragon;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityDimensions;
+import net.minecraft.world.level.block.LeavesBlock;
+import net.minecraft.world.level.pathfinder.BlockPathTypes;
+import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per level cache of the spots around an owner their dragons can teleport to, shared between dragons of the same owner.
+ * <br>
+ * {@link DragonFollowOwnerGoal} used to try up to 10 random positions per dragon, each one a collision sweep over the
+ * dragon's large bounding box, and an owner flying with elytra outruns their dragons on every path recalculation.
+ * Spots are now searched once per owner position and handed out at random to every dragon of that owner, flight
+ * ability and size, until the owner moves to another block or {@link #MAX_AGE} ticks pass. Not finding any spot
+ * is cached as well.
+ * <br>
+ * Spots are checked with the dragon's size rounded up to full blocks, so a spot found for one dragon fits any
+ * other dragon of the same key.
+ */
+public class LandingSpotCache
+{
+    public static final int MAX_AGE = 20; // blocks around the owner may change
+    private static final int MAX_SPOTS = 4; // enough to spread a flock out a little
+    private static final int MAX_TRIES = 16;
+    private static final int SWEEP_INTERVAL = 200;
+
+    // around the owner, horizontally 2-3 blocks away on both axes and up to 1 block up or down
+    private static final int MIN_HORIZONTAL_DISTANCE = 2;
+    private static final int MAX_HORIZONTAL_DISTANCE = 3;
+    private static final int MAX_VERTICAL_DISTANCE = 1;
+    private static final BlockPos[] OFFSETS = offsets();
+
+    private final ServerLevel level;
+    private final Map<Key, Entry> spots = new HashMap<>();
+    private long lastSweep;
+
+    public LandingSpotCache(ServerLevel level)
+    {
+        this.level = level;
+    }
+
+    public static LandingSpotCache of(ServerLevel level)
+    {
+        return ((ServerLevelAccess) level).getLandingSpotCache();
+    }
+
+    /**
+     * @return a random spot near the owner the dragon can teleport to, or null if there isn't one
+     */
+    @Nullable
+    public BlockPos get(TameableDragon dragon, Entity owner)
+    {
+        long now = level.getGameTime();
+        if (now - lastSweep >= SWEEP_INTERVAL) sweep(now);
+
+        var key = Key.of(dragon, owner);
+        var ownerPos = owner.blockPosition();
+        var entry = spots.get(key);
+        if (entry == null || now - entry.createdAt > MAX_AGE || !entry.ownerPos.equals(ownerPos))
+            spots.put(key, entry = new Entry(search(dragon, key, ownerPos), ownerPos, now));
+
+        return entry.spots.isEmpty()? null : Util.getRandom(entry.spots, dragon.getRandom());
+    }
+
+    private List<BlockPos> search(TameableDragon dragon, Key key, BlockPos ownerPos)
+    {
+        var dimensions = EntityDimensions.scalable(key.width, key.height);
+        var found = new ArrayList<BlockPos>(MAX_SPOTS);
+
+        // random order, so we don't always end up on the same side of the owner
+        var offsets = new ObjectArrayList<>(OFFSETS);
+        Util.shuffle(offsets, dragon.getRandom());
+        for (int i = 0; i < MAX_TRIES && found.size() < MAX_SPOTS; i++)
+        {
+            var pos = ownerPos.offset(offsets.get(i));
+            if (!key.flying)
+            {
+                if (WalkNodeEvaluator.getBlockPathTypeStatic(level, pos.mutable()) != BlockPathTypes.WALKABLE) continue;
+                if (level.getBlockState(pos.below()).getBlock() instanceof LeavesBlock) continue;
+            }
+
+            var box = dimensions.makeBoundingBox(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5);
+            if (level.noCollision(dragon, box) && !level.containsAnyLiquid(box)) found.add(pos);
+        }
+        return found;
+    }
+
+    /**
+     * Owners that stopped being followed never get looked up again, so their spots have to be dropped eventually.
+     */
+    private void sweep(long now)
+    {
+        lastSweep = now;
+        spots.values().removeIf(e -> now - e.createdAt > MAX_AGE);
+    }
+
+    private static BlockPos[] offsets()
+    {
+        var offsets = new ArrayList<BlockPos>();
+        for (int x = -MAX_HORIZONTAL_DISTANCE; x <= MAX_HORIZONTAL_DISTANCE; x++)
+            for (int z = -MAX_HORIZONTAL_DISTANCE; z <= MAX_HORIZONTAL_DISTANCE; z++)
+                for (int y = -MAX_VERTICAL_DISTANCE; y <= MAX_VERTICAL_DISTANCE; y++)
+                    if (Math.abs(x) >= MIN_HORIZONTAL_DISTANCE && Math.abs(z) >= MIN_HORIZONTAL_DISTANCE)
+                        offsets.add(new BlockPos(x, y, z));
+        return offsets.toArray(BlockPos[]::new);
+    }
+
+    /**
+     * Whether a spot works depends on whether the dragon flies and how big it is.
+     */
+    private record Key(UUID owner, boolean flying, int width, int height)
+    {
+        private static Key of(TameableDragon dragon, Entity owner)
+        {
+            return new Key(owner.getUUID(), dragon.canFly(), Mth.ceil(dragon.getBbWidth()), Mth.ceil(dragon.getBbHeight()));
+        }
+    }
+
+    private record Entry(List<BlockPos> spots, BlockPos ownerPos, long createdAt) {}
+}
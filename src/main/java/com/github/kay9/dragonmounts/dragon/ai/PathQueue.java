@@ -0,0 +1,45 @@
+package com.github.kay9.dragonmounts.dragon.ai;
+
+import com.github.kay9.dragonmounts.DMLConfig;
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayDeque;
+
+/**
+ * Per level queue of the path requests dragons deferred (see {@link DeferredPaths}), worked off in order every tick
+ * until the configured time budget runs out.
+ * <br>
+ * When an owner teleports, every dragon following them re-paths on the same tick; this spreads those
+ * computations out instead. Requests submitted while the queue is worked off wait for the next
+ * tick. At least one request is handled every tick, so a large budget overrun can't starve it.
+ */
+public class PathQueue
+{
+    private final ArrayDeque<DeferredPaths.Request> queue = new ArrayDeque<>();
+
+    public static PathQueue of(ServerLevel level)
+    {
+        return ((ServerLevelAccess) level).getPathQueue();
+    }
+
+    public void submit(DeferredPaths.Request request)
+    {
+        queue.addLast(request);
+    }
+
+    public void tick()
+    {
+        if (queue.isEmpty()) return;
+
+        long deadline = System.nanoTime() + DMLConfig.dragonPathBudget() * 1000L;
+        for (int i = queue.size(); i > 0; i--)
+        {
+            var request = queue.pollFirst();
+            if (request.isStale()) continue; // re-requested or stopped since
+
+            request.run();
+            if (System.nanoTime() >= deadline) break;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.kay9.dragonmounts.dragon.breed;
+
+import com.github.kay9.dragonmounts.abilities.Ability;
+import com.google.common.collect.MapMaker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The abilities of a dragon, laid out per {@link Ability.Hook} so only the abilities that implement a hook get called.
+ * <br>
+ * Which abilities implement which hooks only depends on the breed, so that's worked out once per breed. Abilities
+ * that are breed specific (factories that return themselves, like every built-in one) are the same instances for every
+ * dragon of a breed, so those dragons all share one layout. Dragons with per-entity abilities get their own.
+ */
+public class BreedAbilities
+{
+    private static final Ability.Hook[] HOOKS = Ability.Hook.values();
+    public static final BreedAbilities NONE = new BreedAbilities(new Ability[0], new int[HOOKS.length][0]);
+
+    // like BreedRegistry's identities: weak keys compare by identity, and reloaded breeds are collected on their own
+    private static final Map<DragonBreed, BreedAbilities> SHARED = new MapMaker().weakKeys().makeMap();
+
+    private final Ability[] abilities;
+    private final int[][] hookIndices; // positions in abilities, per hook
+    private final Ability[][] hooked;
+    private final List<Ability> view;
+
+    private BreedAbilities(Ability[] abilities, int[][] hookIndices)
+    {
+        this.abilities = abilities;
+        this.hookIndices = hookIndices;
+        this.hooked = new Ability[HOOKS.length][];
+        for (int h = 0; h < HOOKS.length; h++)
+        {
+            var indices = hookIndices[h];
+            var array = hooked[h] = new Ability[indices.length];
+            for (int i = 0; i < indices.length; i++) array[i] = abilities[indices[i]];
+        }
+        this.view = List.of(abilities);
+    }
+
+    /**
+     * @param instances what the breed's {@link DragonBreed#abilityTypes() factories} created for a dragon, in order
+     */
+    public static BreedAbilities of(DragonBreed breed, Ability[] instances)
+    {
+        if (instances.length == 0) return NONE;
+
+        var shared = SHARED.get(breed);
+        if (shared == null)
+        {
+            SHARED.put(breed, shared = new BreedAbilities(instances, layout(breed.abilityTypes())));
+            return shared;
+        }
+        return shared.isSameAs(instances)? shared : new BreedAbilities(instances, shared.hookIndices);
+    }
+
+    /**
+     * @return every ability, in the order the breed lists them. Unmodifiable.
+     */
+    public List<Ability> all()
+    {
+        return view;
+    }
+
+    /**
+     * @return the abilities that implement the given hook. Possibly shared with other dragons, so don't modify it!
+     */
+    public Ability[] get(Ability.Hook hook)
+    {
+        return hooked[hook.ordinal()];
+    }
+
+    private boolean isSameAs(Ability[] instances)
+    {
+        for (int i = 0; i < instances.length; i++)
+            if (instances[i] != abilities[i]) return false;
+        return true;
+    }
+
+    private static int[][] layout(List<Ability.Factory<Ability>> factories)
+    {
+        var indices = new int[HOOKS.length][];
+        for (int h = 0; h < HOOKS.length; h++)
+        {
+            var hook = HOOKS[h];
+            indices[h] = IntStream.range(0, factories.size()).filter(i -> factories.get(i).hooks().contains(hook)).toArray();
+        }
+        return indices;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.kay9.dragonmounts.dragon.breed;
 
 import com.github.kay9.dragonmounts.DragonMountsLegacy;
+import com.google.common.collect.MapMaker;
 import net.minecraft.core.Registry;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.ResourceKey;
@@ -8,10 +9,16 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.RandomSource;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+
 public class BreedRegistry
 {
     public static final ResourceKey<Registry<DragonBreed>> REGISTRY_KEY = ResourceKey.createRegistryKey(DragonMountsLegacy.id("dragon_breeds"));
 
+    // Breeds are records, so their equality is by value; weak keys compare by identity instead (and are cheaper).
+    // A reload makes new breed instances, so the old entries are collected on their own.
+    private static final Map<DragonBreed, DragonBreed.Identity> IDENTITIES = new MapMaker().weakKeys().makeMap();
+
     @Nullable
     public static DragonBreed get(String byString, RegistryAccess reg)
     {
@@ -24,6 +31,44 @@ public class BreedRegistry
         return registry(reg).get(byId);
     }
 
+    /**
+     * Breeds are synced to clients along with their registry ids, so the id of a breed
+     * is the same on both sides for as long as the registry is loaded. Only meant for networking; don't save these!
+     *
+     * @return the breed with the given id, or null if there is none.
+     */
+    @Nullable
+    public static DragonBreed byNetworkId(int id, RegistryAccess reg)
+    {
+        return registry(reg).byId(id);
+    }
+
+    /**
+     * @return the registry id of the given breed, or -1 if it isn't registered.
+     */
+    public static int getNetworkId(DragonBreed breed, RegistryAccess reg)
+    {
+        var identity = identity(breed, reg);
+        return identity == null? -1 : identity.index();
+    }
+
+    /**
+     * @see DragonBreed#identity(RegistryAccess)
+     */
+    @Nullable
+    public static DragonBreed.Identity identity(DragonBreed breed, RegistryAccess reg)
+    {
+        var identity = IDENTITIES.get(breed);
+        if (identity == null)
+        {
+            var registry = registry(reg);
+            var id = registry.getKey(breed);
+            if (id == null) return null; // not registered; don't remember it in case that changes
+            IDENTITIES.put(breed, identity = DragonBreed.Identity.resolve(id, registry.getId(breed)));
+        }
+        return identity;
+    }
+
     public static DragonBreed getRandom(RegistryAccess reg, RandomSource random)
     {
         return registry(reg).getRandom(random).orElseThrow().get();
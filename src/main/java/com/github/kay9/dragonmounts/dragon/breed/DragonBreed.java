@@ -31,6 +31,7 @@ import net.minecraft.world.entity.ai.attributes.AttributeInstance;
 import net.minecraft.world.entity.ai.attributes.DefaultAttributes;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.level.storage.loot.BuiltInLootTables;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
@@ -78,19 +79,18 @@ public record DragonBreed(int primaryColor, int secondaryColor, Optional<Particl
     public void initialize(TameableDragon dragon)
     {
         applyAttributes(dragon);
-        for (var factory : abilityTypes())
-        {
-            var instance = factory.create();
-            dragon.getAbilities().add(instance);
-            instance.initialize(dragon);
-        }
+        var factories = abilityTypes();
+        var instances = new Ability[factories.size()];
+        for (int i = 0; i < instances.length; i++) instances[i] = factories.get(i).create();
+        dragon.setAbilities(BreedAbilities.of(this, instances));
+        for (var instance : instances) instance.initialize(dragon);
     }
 
     public void close(TameableDragon dragon)
     {
         cleanAttributes(dragon);
         for (Ability ability : dragon.getAbilities()) ability.close(dragon);
-        dragon.getAbilities().clear();
+        dragon.clearAbilities();
     }
 
     public int getReproductionLimit()
@@ -98,9 +98,21 @@ public record DragonBreed(int primaryColor, int secondaryColor, Optional<Particl
         return reproLimit().map(Function.identity(), DMLConfig::getReproLimitFor);
     }
 
+    @Nullable
     public ResourceLocation id(RegistryAccess reg)
     {
-        return BreedRegistry.registry(reg).getKey(this);
+        var identity = identity(reg);
+        return identity == null? null : identity.id();
+    }
+
+    /**
+     * @return everything that identifies this breed in its registry, resolved once and cached;
+     * or null if this breed isn't registered.
+     */
+    @Nullable
+    public Identity identity(RegistryAccess reg)
+    {
+        return BreedRegistry.identity(this, reg);
     }
 
     public static String getTranslationKey(String resourceLocation)
@@ -108,6 +120,22 @@ public record DragonBreed(int primaryColor, int secondaryColor, Optional<Particl
         return "dragon_breed." + resourceLocation.replace(':', '.');
     }
 
+    /**
+     * @param id the breed's id
+     * @param key the breed's resource key
+     * @param index the breed's registry (network) id
+     * @param idString {@code id.toString()}, for saving
+     * @param translationKey the key of the breed's display name
+     */
+    public record Identity(ResourceLocation id, ResourceKey<DragonBreed> key, int index, String idString, String translationKey)
+    {
+        public static Identity resolve(ResourceLocation id, int index)
+        {
+            var idString = id.toString();
+            return new Identity(id, ResourceKey.create(BreedRegistry.REGISTRY_KEY, id), index, idString, getTranslationKey(idString));
+        }
+    }
+
     private void applyAttributes(TameableDragon dragon)
     {
         float healthFrac = dragon.getHealthFraction(); // in case max health is changed
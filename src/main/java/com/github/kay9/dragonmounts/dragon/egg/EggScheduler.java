@@ -0,0 +1,134 @@
+package com.github.kay9.dragonmounts.dragon.egg;
+
+import com.github.kay9.dragonmounts.DMLConfig;
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.habitats.DragonBreathHabitat;
+import com.github.kay9.dragonmounts.habitats.HabitatPlan;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayDeque;
+
+/**
+ * Re-evaluates the habitats of the hatching eggs in a level in small batches every tick, rather than whenever a
+ * random tick happens to land on them.
+ * <br>
+ * Each tick, eggs are taken from the front of the queue until the configured time budget runs out, and put back at
+ * the end to wait for their next turn. An egg whose surroundings haven't changed since its last evaluation is skipped:
+ * that is, the same blocks (via the {@link com.github.kay9.dragonmounts.habitats.HabitatFactCache} section versions),
+ * sky access, dragon breath, breed and habitat plan. Plans with custom habitats are always re-evaluated, since we
+ * can't know what they read, and so is any egg next to a section that isn't loaded.
+ * <br>
+ * Eggs unregister themselves when they're removed or unloaded. Their entries stay in the queue until they come up,
+ * or until the stale ones outnumber the rest (scheduling may be turned off, so they may never come up).
+ */
+public class EggScheduler
+{
+    private static final long DIRTY = Long.MIN_VALUE; // a real fingerprint could land on this too, which only costs an extra update
+
+    private final ServerLevel level;
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private final Reference2ObjectOpenHashMap<HatchableEggBlockEntity, Entry> tracked = new Reference2ObjectOpenHashMap<>();
+
+    public EggScheduler(ServerLevel level)
+    {
+        this.level = level;
+    }
+
+    public static EggScheduler of(ServerLevel level)
+    {
+        return ((ServerLevelAccess) level).getEggScheduler();
+    }
+
+    public void add(HatchableEggBlockEntity egg)
+    {
+        if (tracked.containsKey(egg)) return;
+
+        // stagger new eggs so a freshly loaded hatchery doesn't all come due on the same tick
+        var entry = new Entry(egg, level.getGameTime() + level.getRandom().nextInt(DMLConfig.habitatUpdateInterval()));
+        tracked.put(egg, entry);
+        queue.addLast(entry);
+    }
+
+    public void remove(HatchableEggBlockEntity egg)
+    {
+        if (tracked.remove(egg) != null && queue.size() > tracked.size() * 2 + 16)
+            queue.removeIf(this::isStale);
+    }
+
+    public void tick()
+    {
+        if (queue.isEmpty() || !DMLConfig.scheduleHabitatUpdates()) return; // eggs stay tracked in case scheduling is turned back on
+
+        long now = level.getGameTime();
+        long deadline = System.nanoTime() + DMLConfig.habitatTickBudget() * 1000L;
+        int interval = DMLConfig.habitatUpdateInterval();
+
+        // eggs are put back in the order they were taken, so everything behind a waiting egg is waiting too.
+        for (int i = queue.size(); i > 0 && queue.getFirst().nextCheck <= now; i--)
+        {
+            var entry = queue.pollFirst();
+            if (isStale(entry)) continue;
+
+            entry.nextCheck = now + interval;
+            queue.addLast(entry);
+
+            if (!entry.egg.canUpdateHabitat()) continue;
+
+            var plan = HabitatPlan.get(level.registryAccess());
+            long fingerprint = fingerprint(entry.egg, plan);
+            if (entry.evaluated && fingerprint != DIRTY && fingerprint == entry.fingerprint && plan.isOnlyBuiltIn()) continue;
+
+            entry.egg.updateHabitat();
+            entry.evaluated = true;
+            entry.fingerprint = fingerprint;
+
+            if (System.nanoTime() >= deadline) break;
+        }
+    }
+
+    private long fingerprint(HatchableEggBlockEntity egg, HabitatPlan plan)
+    {
+        var pos = egg.getBlockPos();
+        long hash = System.identityHashCode(plan);
+        hash = hash * 31 + System.identityHashCode(egg.getBreed());
+
+        if (plan.needsNeighborhood() || plan.needsLight())
+        {
+            var cache = ((ServerLevelAccess) level).getHabitatFactCache();
+            for (int x = SectionPos.blockToSectionCoord(pos.getX() - 1); x <= SectionPos.blockToSectionCoord(pos.getX() + 1); x++)
+                for (int y = SectionPos.blockToSectionCoord(pos.getY() - 1); y <= SectionPos.blockToSectionCoord(pos.getY() + 1); y++)
+                    for (int z = SectionPos.blockToSectionCoord(pos.getZ() - 1); z <= SectionPos.blockToSectionCoord(pos.getZ() + 1); z++)
+                    {
+                        int version = cache.trackVersion(x, y, z);
+                        if (version == -1) return DIRTY; // not loaded, so we wouldn't hear about it changing
+                        hash = hash * 31 + version;
+                    }
+        }
+        if (plan.needsSky()) hash = hash * 31 + (level.canSeeSky(pos)? 1 : 0);
+        if (plan.needsBreath()) hash = hash * 31 + (DragonBreathHabitat.isInDragonBreath(level, pos)? 1 : 0);
+
+        return HashCommon.mix(hash);
+    }
+
+    private boolean isStale(Entry entry)
+    {
+        return tracked.get(entry.egg) != entry;
+    }
+
+    private static class Entry
+    {
+        private final HatchableEggBlockEntity egg;
+        private long nextCheck;
+        private boolean evaluated;
+        private long fingerprint;
+
+        private Entry(HatchableEggBlockEntity egg, long nextCheck)
+        {
+            this.egg = egg;
+            this.nextCheck = nextCheck;
+        }
+    }
+}
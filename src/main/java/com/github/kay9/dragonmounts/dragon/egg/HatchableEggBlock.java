@@ -257,7 +257,7 @@ public class HatchableEggBlock extends DragonEggBlock implements EntityBlock, Si
 
         if (finalStage) // too far gone to change habitats now!
             crack(level, pos); // being closer to hatching creates more struggles to escape
-        else if (DMLConfig.updateHabitats() && !data.getTransition().isRunning())
+        else if (!DMLConfig.scheduleHabitatUpdates() && data.canUpdateHabitat()) // otherwise, the EggScheduler takes care of it
             data.updateHabitat();
     }
 
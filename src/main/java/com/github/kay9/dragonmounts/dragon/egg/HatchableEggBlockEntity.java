@@ -1,16 +1,21 @@
 package com.github.kay9.dragonmounts.dragon.egg;
 
+import com.github.kay9.dragonmounts.DMLConfig;
 import com.github.kay9.dragonmounts.DMLRegistry;
+import com.github.kay9.dragonmounts.DragonMountsLegacy;
 import com.github.kay9.dragonmounts.dragon.breed.BreedRegistry;
 import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
-import com.github.kay9.dragonmounts.habitats.Habitat;
+import com.github.kay9.dragonmounts.habitats.HabitatPlan;
+import com.github.kay9.dragonmounts.habitats.HabitatSnapshot;
 import com.google.common.base.Suppliers;
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.Nameable;
 import net.minecraft.world.level.Level;
@@ -19,6 +24,7 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 public class HatchableEggBlockEntity extends BlockEntity implements Nameable
@@ -30,6 +36,7 @@ public class HatchableEggBlockEntity extends BlockEntity implements Nameable
 
     private Supplier<DragonBreed> breed = () -> null;
     private Component customName;
+    private PendingHabitat pendingHabitat; // being scored on another thread
 
     public HatchableEggBlockEntity(BlockPos pPos, BlockState pBlockState)
     {
@@ -43,7 +50,7 @@ public class HatchableEggBlockEntity extends BlockEntity implements Nameable
         super.saveAdditional(tag);
 
         if (hasBreed())
-            tag.putString(HatchableEggBlock.NBT_BREED, getBreed().id(getLevel().registryAccess()).toString());
+            tag.putString(HatchableEggBlock.NBT_BREED, getBreed().identity(getLevel().registryAccess()).idString());
 
         if (getCustomName() != null)
             tag.putString(HatchableEggBlock.NBT_NAME, Component.Serializer.toJson(customName));
@@ -127,7 +134,7 @@ public class HatchableEggBlockEntity extends BlockEntity implements Nameable
     {
         return customName != null? customName :
                 Component.translatable(DMLRegistry.EGG_BLOCK_ITEM.get().getDescriptionId(),
-                        Component.translatable(DragonBreed.getTranslationKey(getBreed().id(getLevel().registryAccess()).toString())));
+                        Component.translatable(getBreed().identity(getLevel().registryAccess()).translationKey()));
     }
 
     public void setCustomName(Component name)
@@ -150,24 +157,69 @@ public class HatchableEggBlockEntity extends BlockEntity implements Nameable
             getLevel().sendBlockUpdated(getBlockPos(), getBlockState(), getBlockState(), Block.UPDATE_IMMEDIATE);
         }
 
+        if (pendingHabitat != null && pendingHabitat.result().isDone())
+        {
+            var pending = pendingHabitat;
+            pendingHabitat = null;
+            if (!pending.result().isCompletedExceptionally()
+                    && pending.plan() == HabitatPlan.get(getLevel().registryAccess()) // otherwise breeds were reloaded and the result is stale
+                    && canUpdateHabitat()) // we may have started hatching, etc. while waiting
+                applyHabitat(pending.result().join());
+        }
+
         getTransition().tick(getLevel().getRandom());
     }
 
+    @Override
+    public void onLoad()
+    {
+        super.onLoad();
+        if (getLevel() instanceof ServerLevel level) EggScheduler.of(level).add(this);
+    }
+
+    @Override
+    public void setRemoved()
+    {
+        super.setRemoved();
+        if (getLevel() instanceof ServerLevel level) EggScheduler.of(level).remove(this); // broken or unloaded
+    }
+
+    /**
+     * @return true if this egg is still able to change breeds. (hatching, not about to hatch, not already changing)
+     */
+    public boolean canUpdateHabitat()
+    {
+        var state = getBlockState();
+        return DMLConfig.updateHabitats()
+                && hasBreed()
+                && state.getValue(HatchableEggBlock.HATCHING)
+                && state.getValue(HatchableEggBlock.HATCH_STAGE) < 3
+                && !getTransition().isRunning();
+    }
+
     @SuppressWarnings("ConstantConditions") // level exists at this point
     public void updateHabitat()
     {
-        DragonBreed winner = null;
-        int prevPoints = 0;
-        for (var breed : BreedRegistry.registry(getLevel().registryAccess()))
+        var plan = HabitatPlan.get(getLevel().registryAccess());
+        if (DMLConfig.asyncHabitatUpdates() && plan.isOnlyBuiltIn())
         {
-            int points = 0;
-            for (Habitat habitat : breed.habitats()) points += habitat.getHabitatPoints(level, getBlockPos());
-            if (points > MIN_HABITAT_POINTS && points > prevPoints)
+            if (pendingHabitat != null) return; // already on it
+
+            var snapshot = HabitatSnapshot.detach(getLevel(), getBlockPos(), plan);
+            var result = CompletableFuture.supplyAsync(() -> plan.findBestBreed(snapshot, MIN_HABITAT_POINTS), Util.backgroundExecutor());
+            result.exceptionally(e ->
             {
-                winner = breed;
-                prevPoints = points;
-            }
+                DragonMountsLegacy.LOG.error("Failed to score habitat of egg at {}", snapshot.pos(), e);
+                return null;
+            });
+            pendingHabitat = new PendingHabitat(plan, result);
         }
+        else applyHabitat(plan.findBestBreed(getLevel(), getBlockPos(), MIN_HABITAT_POINTS));
+    }
+
+    @SuppressWarnings("ConstantConditions") // level exists at this point
+    private void applyHabitat(@Nullable DragonBreed winner)
+    {
         if (winner != null && winner != getBreed())
         {
             getTransition().begin(winner);
@@ -175,6 +227,8 @@ public class HatchableEggBlockEntity extends BlockEntity implements Nameable
         }
     }
 
+    private record PendingHabitat(HabitatPlan plan, CompletableFuture<DragonBreed> result) {}
+
     @SuppressWarnings("ConstantConditions") // level exists at this point
     public class TransitionHandler
     {
@@ -235,7 +289,7 @@ public class HatchableEggBlockEntity extends BlockEntity implements Nameable
 
         public void save(CompoundTag tag)
         {
-            tag.putString(NBT_TRANSITION_BREED, transitioningBreed.get().id(getLevel().registryAccess()).toString());
+            tag.putString(NBT_TRANSITION_BREED, transitioningBreed.get().identity(getLevel().registryAccess()).idString());
             tag.putInt(NBT_TRANSITION_TIME,  transitionTime);
         }
 
@@ -22,6 +22,24 @@ public record BiomeHabitat(int points, TagKey<Biome> biomeTag) implements Habita
         return level.getBiome(pos).is(biomeTag)? points : 0;
     }
 
+    @Override
+    public int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        return snapshot.biome().is(biomeTag)? points : 0;
+    }
+
+    @Override
+    public int maxPoints()
+    {
+        return Math.max(points, 0);
+    }
+
+    @Override
+    public Cost cost()
+    {
+        return Cost.CHEAP;
+    }
+
     @Override
     public ResourceLocation type()
     {
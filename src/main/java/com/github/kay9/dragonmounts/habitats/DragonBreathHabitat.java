@@ -17,9 +17,29 @@ public enum DragonBreathHabitat implements Habitat
     @Override
     public int getHabitatPoints(Level level, BlockPos pos)
     {
+        return isInDragonBreath(level, pos)? 10 : 0;
+    }
+
+    @Override
+    public int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        return snapshot.hasDragonBreath()? 10 : 0;
+    }
+
+    @Override
+    public int maxPoints()
+    {
+        return 10;
+    }
+
+    public static boolean isInDragonBreath(Level level, BlockPos pos)
+    {
+        var index = DragonBreathIndex.of(level);
+        if (index != null) return index.isInDragonBreath(pos);
+
         return !level.getEntities(EntityType.AREA_EFFECT_CLOUD,
                 new AABB(pos),
-                c -> c.getParticle() == ParticleTypes.DRAGON_BREATH).isEmpty()? 10 : 0;
+                c -> c.getParticle() == ParticleTypes.DRAGON_BREATH).isEmpty();
     }
 
     @Override
@@ -0,0 +1,79 @@
+package com.github.kay9.dragonmounts.habitats;
+
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.AreaEffectCloud;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per level index of the area effect clouds that are alive in it, bucketed by the chunk section they joined in.
+ * <br>
+ * {@link DragonBreathHabitat} used to query the level's entity storage (and allocate a list) on every egg update.
+ * Since eggs only ever ask "is there dragon breath on this block?", we can answer that from a handful of buckets
+ * instead, and answer immediately in levels without any clouds at all (almost all of them).
+ * <br>
+ * The particle is checked at lookup rather than at insertion, since it can be set after the cloud is added.
+ */
+public class DragonBreathIndex
+{
+    private final Long2ObjectOpenHashMap<List<AreaEffectCloud>> sections = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongOpenHashMap<AreaEffectCloud> keys = new Reference2LongOpenHashMap<>();
+
+    /**
+     * @return the index of the given level, or null if the level doesn't have one (client levels)
+     */
+    @Nullable
+    public static DragonBreathIndex of(Level level)
+    {
+        return level instanceof ServerLevel? ((ServerLevelAccess) level).getDragonBreathIndex() : null;
+    }
+
+    public void add(AreaEffectCloud cloud)
+    {
+        if (keys.containsKey(cloud)) return;
+        long key = SectionPos.asLong(cloud.blockPosition());
+        keys.put(cloud, key);
+        sections.computeIfAbsent(key, k -> new ArrayList<>(2)).add(cloud);
+    }
+
+    public void remove(AreaEffectCloud cloud)
+    {
+        if (!keys.containsKey(cloud)) return;
+        long key = keys.removeLong(cloud);
+        var clouds = sections.get(key);
+        if (clouds != null && clouds.remove(cloud) && clouds.isEmpty()) sections.remove(key);
+    }
+
+    /**
+     * Mirrors the entity storage query this replaces: clouds from sections within 2 blocks of the position
+     * are tested against the block's bounds.
+     */
+    public boolean isInDragonBreath(BlockPos pos)
+    {
+        if (sections.isEmpty()) return false;
+
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        for (int sx = SectionPos.blockToSectionCoord(x - 2); sx <= SectionPos.blockToSectionCoord(x + 3); sx++)
+            for (int sy = SectionPos.blockToSectionCoord(y - 2); sy <= SectionPos.blockToSectionCoord(y + 3); sy++)
+                for (int sz = SectionPos.blockToSectionCoord(z - 2); sz <= SectionPos.blockToSectionCoord(z + 3); sz++)
+                {
+                    var clouds = sections.get(SectionPos.asLong(sx, sy, sz));
+                    if (clouds == null) continue;
+                    for (var cloud : clouds)
+                        if (cloud.getParticle() == ParticleTypes.DRAGON_BREATH && cloud.getBoundingBox().intersects(x, y, z, x + 1, y + 1, z + 1))
+                            return true;
+                }
+        return false;
+    }
+}
@@ -19,9 +19,27 @@ public record FluidHabitat(float multiplier, TagKey<Fluid> fluidType) implements
     @Override
     public int getHabitatPoints(Level level, BlockPos pos)
     {
-        return (int) (BlockPos.betweenClosedStream(pos.offset(1, 1, 1), pos.offset(-1, -1, -1))
-                .filter(p -> level.getFluidState(p).is(fluidType))
-                .count() * multiplier);
+        var cache = HabitatFactCache.of(level);
+        var count = cache != null? cache.countFluids(pos, fluidType) : Neighborhood.countFluids(level, pos, fluidType);
+        return (int) (count * multiplier);
+    }
+
+    @Override
+    public int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        return (int) (snapshot.countFluids(fluidType) * multiplier);
+    }
+
+    @Override
+    public int maxPoints()
+    {
+        return Math.max((int) (Neighborhood.SIZE * multiplier), 0);
+    }
+
+    @Override
+    public Cost cost()
+    {
+        return Cost.MODERATE;
     }
 
     @Override
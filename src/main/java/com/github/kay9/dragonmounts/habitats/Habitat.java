@@ -48,5 +48,40 @@ public interface Habitat
 
     int getHabitatPoints(Level level, BlockPos pos);
 
+    /**
+     * Score this habitat from a snapshot of the egg's surroundings captured by the {@link HabitatPlan}.
+     * Built-in habitats read the captured facts instead of querying the level again.
+     * Custom habitats don't need to override this; by default it falls back to {@link #getHabitatPoints(Level, BlockPos)}
+     */
+    default int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        return getHabitatPoints(snapshot.level(), snapshot.pos());
+    }
+
+    /**
+     * The highest score this habitat could ever give, regardless of surroundings.
+     * Used to skip scoring breeds that can't possibly win. Custom habitats that can't tell should leave this as is.
+     */
+    default int maxPoints()
+    {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Roughly how much work scoring this habitat is. Cheaper habitats are scored first so that
+     * {@link PickyHabitat}s and breeds that already can't win are abandoned before the expensive checks run.
+     */
+    default Cost cost()
+    {
+        return Cost.EXPENSIVE;
+    }
+
     ResourceLocation type();
+
+    enum Cost
+    {
+        CHEAP, // a value or two about the egg's own position
+        MODERATE, // a scan of the neighborhood
+        EXPENSIVE // entity queries, or anything we don't know about
+    }
 }
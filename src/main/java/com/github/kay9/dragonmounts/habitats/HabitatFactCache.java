@@ -0,0 +1,220 @@
+package com.github.kay9.dragonmounts.habitats;
+
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.util.TagBitsets;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.material.Fluid;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Per chunk section cache of the block facts habitats ask about, owned by the server level.
+ * <br>
+ * Eggs in a hatchery tend to share the same few sections, and every one of them used to resolve the same tag
+ * memberships for the same blocks on each random tick. Here, each section lazily builds one bitset per block tag and
+ * one per fluid tag (the "fluid mask") that a habitat asks about, so counting a neighborhood becomes 27 bit tests.
+ * <br>
+ * Block changes reported by the level patch the affected bit in every bitset of that section and bump its version,
+ * so entries never need to be rebuilt. Entries are dropped when their chunk unloads, and everything is dropped
+ * when tags are reloaded.
+ */
+public class HabitatFactCache
+{
+    private static final long[] NONE = new long[0]; // no block in the section matches
+
+    private final Level level;
+    private final Long2ObjectOpenHashMap<SectionFacts> sections = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private int stamp; // hands out section versions, so no two states of any section ever share one
+
+    public HabitatFactCache(Level level)
+    {
+        this.level = level;
+    }
+
+    /**
+     * @return the cache of the given level, or null if the level doesn't have one (client levels)
+     */
+    @Nullable
+    public static HabitatFactCache of(Level level)
+    {
+        return level instanceof ServerLevelAccess access? access.getHabitatFactCache() : null;
+    }
+
+    public int countBlocks(BlockPos center, TagKey<Block> tag)
+    {
+        int count = 0;
+        for (int dx = -1; dx <= 1; dx++)
+            for (int dy = -1; dy <= 1; dy++)
+                for (int dz = -1; dz <= 1; dz++)
+                {
+                    int x = center.getX() + dx;
+                    int y = center.getY() + dy;
+                    int z = center.getZ() + dz;
+                    var facts = getFacts(x, y, z);
+                    if (facts != null? facts.hasBlock(tag, x, y, z) : TagBitsets.is(level.getBlockState(cursor.set(x, y, z)), tag))
+                        count++;
+                }
+        return count;
+    }
+
+    public int countFluids(BlockPos center, TagKey<Fluid> tag)
+    {
+        int count = 0;
+        for (int dx = -1; dx <= 1; dx++)
+            for (int dy = -1; dy <= 1; dy++)
+                for (int dz = -1; dz <= 1; dz++)
+                {
+                    int x = center.getX() + dx;
+                    int y = center.getY() + dy;
+                    int z = center.getZ() + dz;
+                    var facts = getFacts(x, y, z);
+                    if (facts != null? facts.hasFluid(tag, x, y, z) : TagBitsets.is(level.getFluidState(cursor.set(x, y, z)), tag))
+                        count++;
+                }
+        return count;
+    }
+
+    /**
+     * Called by the level whenever a block changes.
+     */
+    public void onBlockChanged(BlockPos pos, BlockState newState)
+    {
+        var facts = sections.get(SectionPos.asLong(pos));
+        if (facts != null)
+        {
+            facts.version = ++stamp;
+            facts.update(pos.getX(), pos.getY(), pos.getZ(), newState);
+        }
+    }
+
+    /**
+     * Starts tracking the given section if it isn't already, so later calls can tell whether its blocks changed.
+     * Tracking alone doesn't build any bitsets.
+     *
+     * @return a version that changes every time a block in the given section changes, 0 if the section is outside the
+     * world (it never changes), or -1 if it isn't loaded. Versions are never reused, even after the section is dropped
+     * and tracked again.
+     */
+    public int trackVersion(int sectionX, int sectionY, int sectionZ)
+    {
+        if (sectionY < level.getMinSection() || sectionY >= level.getMaxSection()) return 0;
+
+        var facts = getFacts(SectionPos.sectionToBlockCoord(sectionX), SectionPos.sectionToBlockCoord(sectionY), SectionPos.sectionToBlockCoord(sectionZ));
+        return facts == null? -1 : facts.version;
+    }
+
+    /**
+     * Tag contents changed, so every bitset is stale.
+     */
+    public void clear()
+    {
+        sections.clear();
+    }
+
+    public void onChunkUnload(ChunkPos pos)
+    {
+        if (sections.isEmpty()) return;
+        for (int y = level.getMinSection(); y < level.getMaxSection(); y++)
+            sections.remove(SectionPos.asLong(pos.x, y, pos.z));
+    }
+
+    /**
+     * @return the facts of the section containing the given position,
+     * or null if it's outside the world or not loaded (callers should ask the level instead)
+     */
+    @Nullable
+    private SectionFacts getFacts(int x, int y, int z)
+    {
+        if (level.isOutsideBuildHeight(y)) return null;
+
+        long key = SectionPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(y), SectionPos.blockToSectionCoord(z));
+        var facts = sections.get(key);
+        if (facts == null)
+        {
+            var chunk = level.getChunkSource().getChunkNow(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+            if (chunk == null) return null;
+            sections.put(key, facts = new SectionFacts(chunk.getSection(chunk.getSectionIndex(y)), ++stamp));
+        }
+        return facts;
+    }
+
+    private static int index(int x, int y, int z)
+    {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    private static boolean test(long[] bits, int index)
+    {
+        return bits != NONE && (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    private static long[] compute(LevelChunkSection section, Predicate<BlockState> predicate)
+    {
+        if (!section.maybeHas(predicate)) return NONE; // checks the palette only; most sections have nothing we want.
+
+        var bits = new long[64];
+        for (int i = 0; i < 4096; i++)
+            if (predicate.test(section.getBlockState(i & 15, i >> 8, (i >> 4) & 15))) bits[i >> 6] |= 1L << i;
+        return bits;
+    }
+
+    private static long[] set(long[] bits, int index, boolean value)
+    {
+        if (value)
+        {
+            if (bits == NONE) bits = new long[64];
+            bits[index >> 6] |= 1L << index;
+        }
+        else if (bits != NONE) bits[index >> 6] &= ~(1L << index);
+        return bits;
+    }
+
+    private static class SectionFacts
+    {
+        private final LevelChunkSection section;
+        private final Reference2ObjectMap<TagKey<Block>, long[]> blockTags = new Reference2ObjectOpenHashMap<>(4);
+        private final Reference2ObjectMap<TagKey<Fluid>, long[]> fluidTags = new Reference2ObjectOpenHashMap<>(4);
+        private int version;
+
+        private SectionFacts(LevelChunkSection section, int version)
+        {
+            this.section = section;
+            this.version = version;
+        }
+
+        private boolean hasBlock(TagKey<Block> tag, int x, int y, int z)
+        {
+            var bits = blockTags.get(tag);
+            if (bits == null) blockTags.put(tag, bits = compute(section, s -> TagBitsets.is(s, tag)));
+            return test(bits, index(x, y, z));
+        }
+
+        private boolean hasFluid(TagKey<Fluid> tag, int x, int y, int z)
+        {
+            var bits = fluidTags.get(tag);
+            if (bits == null) fluidTags.put(tag, bits = compute(section, s -> TagBitsets.is(s.getFluidState(), tag)));
+            return test(bits, index(x, y, z));
+        }
+
+        private void update(int x, int y, int z, BlockState state)
+        {
+            int index = index(x, y, z);
+            for (var entry : blockTags.reference2ObjectEntrySet())
+                entry.setValue(set(entry.getValue(), index, TagBitsets.is(state, entry.getKey())));
+            for (var entry : fluidTags.reference2ObjectEntrySet())
+                entry.setValue(set(entry.getValue(), index, TagBitsets.is(state.getFluidState(), entry.getKey())));
+        }
+    }
+}
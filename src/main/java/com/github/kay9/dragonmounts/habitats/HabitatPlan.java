@@ -0,0 +1,273 @@
+package com.github.kay9.dragonmounts.habitats;
+
+import com.github.kay9.dragonmounts.dragon.breed.BreedRegistry;
+import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.material.Fluid;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The habitats of every breed, compiled into a single evaluation plan.
+ * <br>
+ * Compiled once per breed registry (which is only ever replaced on reloads) and shared by every egg.
+ * Identical habitats across breeds are merged so each one is only scored once per egg, and the world facts the
+ * habitats need are captured once in a {@link HabitatSnapshot} rather than once per habitat.
+ * <br>
+ * Breeds are scored in descending order of the highest score they could possibly reach ({@link Habitat#maxPoints()}),
+ * so once the current winner beats that bound, no remaining breed can win and the rest are skipped.
+ * Within a breed, habitats are scored cheapest first, and the breed is abandoned as soon as the habitats left
+ * can't make up the difference.
+ */
+public class HabitatPlan
+{
+    private static volatile HabitatPlan compiled;
+
+    private final Registry<DragonBreed> registry;
+    private final DragonBreed[] breeds; // registry order
+    private final ResourceLocation[] breedIds;
+    private final Habitat[] habitats; // unique habitats across all breeds
+    private final int[][] breedHabitats; // per breed, indices into habitats, cheapest first
+    private final long[][] remainingBounds; // per breed, the highest score the habitats from that index onward can add
+    private final int[] bounds; // per breed, the highest score it can reach
+    private final int[] order; // breed indices, highest bound first
+
+    private boolean needsNeighborhood;
+    private boolean needsBiome;
+    private boolean needsLight;
+    private boolean needsSky;
+    private boolean needsBreath;
+    private final Set<TagKey<Block>> blockTags = new HashSet<>();
+    private final Set<TagKey<Fluid>> fluidTags = new HashSet<>();
+    private boolean onlyBuiltIn = true; // every habitat only reads facts we know how to track
+
+    private HabitatPlan(Registry<DragonBreed> registry)
+    {
+        this.registry = registry;
+
+        var unique = new Object2IntOpenHashMap<Habitat>();
+        unique.defaultReturnValue(-1);
+        var habitats = new ArrayList<Habitat>();
+        var breeds = new ArrayList<DragonBreed>();
+        var breedHabitats = new ArrayList<int[]>();
+
+        for (var breed : registry)
+        {
+            var sorted = breed.habitats().stream().sorted(Comparator.comparing(Habitat::cost)).toList();
+            var indices = new int[sorted.size()];
+            for (int i = 0; i < indices.length; i++)
+            {
+                var habitat = sorted.get(i);
+                int index = unique.getInt(habitat);
+                if (index == -1)
+                {
+                    index = habitats.size();
+                    unique.put(habitat, index);
+                    habitats.add(habitat);
+                    require(habitat);
+                }
+                indices[i] = index;
+            }
+            breeds.add(breed);
+            breedHabitats.add(indices);
+        }
+
+        this.breeds = breeds.toArray(DragonBreed[]::new);
+        this.breedIds = breeds.stream().map(registry::getKey).toArray(ResourceLocation[]::new);
+        this.habitats = habitats.toArray(Habitat[]::new);
+        this.breedHabitats = breedHabitats.toArray(int[][]::new);
+
+        this.remainingBounds = new long[this.breeds.length][];
+        for (int i = 0; i < remainingBounds.length; i++)
+        {
+            var indices = this.breedHabitats[i];
+            var remaining = remainingBounds[i] = new long[indices.length + 1];
+            for (int j = indices.length - 1; j >= 0; j--)
+                remaining[j] = remaining[j + 1] + this.habitats[indices[j]].maxPoints();
+        }
+
+        this.bounds = new int[this.breeds.length];
+        for (int i = 0; i < bounds.length; i++) bounds[i] = sumMaxPoints(this.breeds[i].habitats());
+        this.order = IntStream.range(0, bounds.length).boxed()
+                .sorted(Comparator.comparingInt(i -> -bounds[i])) // stable, so equal bounds stay in registry order
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Get the plan for the current breed registry, compiling a new one if the registry was reloaded.
+     */
+    public static HabitatPlan get(RegistryAccess reg)
+    {
+        var registry = BreedRegistry.registry(reg);
+        var plan = compiled;
+        if (plan == null || plan.registry != registry) compiled = plan = new HabitatPlan(registry);
+        return plan;
+    }
+
+    /**
+     * Score every breed against the surroundings of the given position.
+     *
+     * @param minPoints the amount of points a breed must exceed to be considered
+     * @return the breed with the highest score, or null if none exceeded minPoints.
+     */
+    @Nullable
+    public DragonBreed findBestBreed(Level level, BlockPos pos, int minPoints)
+    {
+        return findBestBreed(HabitatSnapshot.capture(level, pos, this), minPoints);
+    }
+
+    /**
+     * Score every breed against the given snapshot.
+     * Safe to call off the main thread with a {@link HabitatSnapshot#detach detached} snapshot if this plan
+     * {@link #isOnlyBuiltIn() is only built-in}.
+     *
+     * @param minPoints the amount of points a breed must exceed to be considered
+     * @return the breed with the highest score, or null if none exceeded minPoints.
+     */
+    @Nullable
+    public DragonBreed findBestBreed(HabitatSnapshot snapshot, int minPoints)
+    {
+        var scores = new int[habitats.length];
+        Arrays.fill(scores, Integer.MIN_VALUE); // not yet scored
+
+        boolean profile = HabitatProfiler.isEnabled();
+        int winner = -1;
+        int prevPoints = 0;
+        for (int i : order)
+        {
+            // bounds only go down from here. a breed that can only tie the winner still
+            // needs scoring if it comes first in the registry, since ties go to registry order.
+            if (bounds[i] <= minPoints || bounds[i] < prevPoints) break;
+
+            int target = Math.max(minPoints + 1, i < winner? prevPoints : prevPoints + 1);
+            var indices = breedHabitats[i];
+            var remaining = remainingBounds[i];
+            long breedNanos = 0;
+            int points = 0;
+            for (int j = 0; j < indices.length; j++)
+            {
+                if (points + remaining[j] < target) // can't win anymore
+                {
+                    points = Integer.MIN_VALUE;
+                    break;
+                }
+                int habitat = indices[j];
+                if (scores[habitat] == Integer.MIN_VALUE)
+                {
+                    if (profile)
+                    {
+                        long start = System.nanoTime();
+                        scores[habitat] = habitats[habitat].getHabitatPoints(snapshot);
+                        long nanos = System.nanoTime() - start;
+                        breedNanos += nanos;
+                        HabitatProfiler.recordHabitat(habitats[habitat].type(), nanos, scores[habitat] != 0);
+                    }
+                    else scores[habitat] = habitats[habitat].getHabitatPoints(snapshot);
+                }
+                points += scores[habitat];
+            }
+            if (profile) HabitatProfiler.recordBreed(breedIds[i], breedNanos, points >= target);
+            if (points >= target)
+            {
+                winner = i;
+                prevPoints = points;
+            }
+        }
+        return winner == -1? null : breeds[winner];
+    }
+
+    public boolean needsNeighborhood()
+    {
+        return needsNeighborhood;
+    }
+
+    public boolean needsBiome()
+    {
+        return needsBiome;
+    }
+
+    public boolean needsLight()
+    {
+        return needsLight;
+    }
+
+    public boolean needsSky()
+    {
+        return needsSky;
+    }
+
+    public boolean needsBreath()
+    {
+        return needsBreath;
+    }
+
+    /**
+     * @return every block tag the habitats in this plan check against.
+     */
+    public Set<TagKey<Block>> blockTags()
+    {
+        return blockTags;
+    }
+
+    /**
+     * @return every fluid tag the habitats in this plan check against.
+     */
+    public Set<TagKey<Fluid>> fluidTags()
+    {
+        return fluidTags;
+    }
+
+    /**
+     * @return true if no habitat in this plan reads anything besides the facts a {@link HabitatSnapshot} captures.
+     * Custom habitats can read whatever they want, so we can't tell when their surroundings change.
+     */
+    public boolean isOnlyBuiltIn()
+    {
+        return onlyBuiltIn;
+    }
+
+    /**
+     * @return the sum of the max points of the given habitats, clamped to the int range.
+     */
+    static int sumMaxPoints(List<Habitat> habitats)
+    {
+        long sum = 0;
+        for (var habitat : habitats) sum += habitat.maxPoints();
+        return (int) Math.max(Math.min(sum, Integer.MAX_VALUE), Integer.MIN_VALUE);
+    }
+
+    private void require(Habitat habitat)
+    {
+        if (habitat instanceof NearbyBlocksHabitat n)
+        {
+            needsNeighborhood = true;
+            blockTags.add(n.tag());
+        }
+        else if (habitat instanceof FluidHabitat f)
+        {
+            needsNeighborhood = true;
+            fluidTags.add(f.fluidType());
+        }
+        else if (habitat instanceof BiomeHabitat) needsBiome = true;
+        else if (habitat instanceof LightHabitat) needsLight = true;
+        else if (habitat instanceof HeightHabitat h && h.below()) needsSky = true;
+        else if (habitat instanceof DragonBreathHabitat) needsBreath = true;
+        else if (habitat instanceof PickyHabitat p) for (var child : p.habitats()) require(child);
+        else if (!(habitat instanceof HeightHabitat)) onlyBuiltIn = false;
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.kay9.dragonmounts.habitats;
+
+import com.github.kay9.dragonmounts.DMLConfig;
+import com.github.kay9.dragonmounts.DragonMountsLegacy;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low overhead counters of where habitat scoring time goes, per habitat type and per breed.
+ * <br>
+ * Only recorded while enabled in the config ({@code profile_habitats}), since timing every habitat isn't free.
+ * Breeds are charged for the habitats that were first scored for them; habitats shared with a breed scored earlier
+ * are free. A habitat "hits" when it gives any points, a breed "hits" when it beats the best breed so far.
+ * <br>
+ * Read through {@code /dragonmounts habitat_profile}, and dumped to the log every {@code habitat_profile_log_interval}.
+ */
+public final class HabitatProfiler
+{
+    private static final Map<ResourceLocation, Counter> HABITATS = new ConcurrentHashMap<>();
+    private static final Map<ResourceLocation, Counter> BREEDS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled; // cached from the config, which is too slow to read while scoring
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled)
+    {
+        HabitatProfiler.enabled = enabled;
+    }
+
+    static void recordHabitat(ResourceLocation type, long nanos, boolean hit)
+    {
+        HABITATS.computeIfAbsent(type, k -> new Counter()).record(nanos, hit);
+    }
+
+    static void recordBreed(ResourceLocation breed, long nanos, boolean hit)
+    {
+        BREEDS.computeIfAbsent(breed, k -> new Counter()).record(nanos, hit);
+    }
+
+    public static void reset()
+    {
+        HABITATS.clear();
+        BREEDS.clear();
+    }
+
+    /**
+     * Called every server tick.
+     */
+    public static void tick(int tickCount)
+    {
+        if (!isEnabled()) return;
+        int interval = DMLConfig.habitatProfileLogInterval() * 20;
+        if (interval <= 0 || tickCount % interval != 0 || BREEDS.isEmpty()) return;
+
+        DragonMountsLegacy.LOG.info("Habitat profile:");
+        for (var line : report()) DragonMountsLegacy.LOG.info(line);
+    }
+
+    public static LiteralArgumentBuilder<CommandSourceStack> command()
+    {
+        return Commands.literal("habitat_profile")
+                .requires(s -> s.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .executes(c ->
+                {
+                    if (!isEnabled())
+                        c.getSource().sendSystemMessage(Component.literal("Habitat profiling is disabled. Enable `profile_habitats` in the config."));
+                    for (var line : report()) c.getSource().sendSystemMessage(Component.literal(line));
+                    return BREEDS.size();
+                })
+                .then(Commands.literal("reset").executes(c ->
+                {
+                    reset();
+                    c.getSource().sendSuccess(() -> Component.literal("Habitat profile reset."), true);
+                    return 1;
+                }));
+    }
+
+    private static List<String> report()
+    {
+        var lines = new ArrayList<String>();
+        lines.add("-- Habitat types (by total time) --");
+        report(HABITATS, lines);
+        lines.add("-- Breeds (by total time) --");
+        report(BREEDS, lines);
+        return lines;
+    }
+
+    private static void report(Map<ResourceLocation, Counter> counters, List<String> lines)
+    {
+        counters.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<ResourceLocation, Counter> e) -> e.getValue().nanos.sum()).reversed())
+                .forEach(e ->
+                {
+                    var counter = e.getValue();
+                    long calls = counter.calls.sum();
+                    long nanos = counter.nanos.sum();
+                    lines.add(String.format("%s: %d calls, %.2f ms total, %.2f µs avg, %.1f%% hits",
+                            e.getKey(), calls, nanos / 1e6, calls == 0? 0 : nanos / 1e3 / calls, calls == 0? 0 : counter.hits.sum() * 100d / calls));
+                });
+    }
+
+    private static class Counter
+    {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+
+        private void record(long nanos, boolean hit)
+        {
+            calls.increment();
+            this.nanos.add(nanos);
+            if (hit) hits.increment();
+        }
+    }
+
+    private HabitatProfiler() {}
+}
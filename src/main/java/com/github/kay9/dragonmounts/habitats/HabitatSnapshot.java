@@ -0,0 +1,152 @@
+package com.github.kay9.dragonmounts.habitats;
+
+import com.github.kay9.dragonmounts.util.TagBitsets;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelReader;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.Fluid;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A one-time capture of everything the built-in habitats read around an egg.
+ * <br>
+ * Rather than every {@link Habitat} of every breed querying the level on its own, the {@link HabitatPlan} captures
+ * the 3x3x3 neighborhood, biome, light and sky access once per egg, and all breeds are scored from this snapshot.
+ * Only the facts the plan actually needs are captured; everything else keeps its default value.
+ * On server levels, block and fluid counts come from the level's {@link HabitatFactCache} instead of the neighborhood.
+ * <br>
+ * Custom habitats that don't know about snapshots fall back to querying {@link #level()} directly.
+ * <br>
+ * A {@link #detach detached} snapshot captures everything up front and never touches the level again,
+ * so it can be scored off the main thread (as long as the plan is {@link HabitatPlan#isOnlyBuiltIn() only built-in}).
+ */
+public class HabitatSnapshot
+{
+    private final Level level;
+    private final BlockPos pos;
+    private final HabitatFactCache cache;
+    private final BlockState[] neighborhood;
+    private final Holder<Biome> biome;
+    private final int lightEmission;
+    private final boolean canSeeSky;
+
+    // many breeds share tags, so count each one once.
+    private final Object2IntOpenHashMap<TagKey<?>> counts = new Object2IntOpenHashMap<>();
+    private int dragonBreath = -1; // -1 = not yet queried
+
+    private HabitatSnapshot(@Nullable Level level, BlockPos pos, @Nullable HabitatFactCache cache, BlockState[] neighborhood, Holder<Biome> biome, int lightEmission, boolean canSeeSky)
+    {
+        this.level = level;
+        this.pos = pos;
+        this.cache = cache;
+        this.neighborhood = neighborhood;
+        this.biome = biome;
+        this.lightEmission = lightEmission;
+        this.canSeeSky = canSeeSky;
+        counts.defaultReturnValue(-1);
+    }
+
+    public static HabitatSnapshot capture(Level level, BlockPos pos, HabitatPlan plan)
+    {
+        var cache = HabitatFactCache.of(level);
+        var neighborhood = plan.needsNeighborhood() && cache == null? Neighborhood.scan(level, pos).clone() : null;
+        return new HabitatSnapshot(level, pos.immutable(), cache, neighborhood,
+                plan.needsBiome()? level.getBiome(pos) : null,
+                plan.needsLight()? level.getLightEmission(pos) : 0,
+                plan.needsSky() && level.canSeeSky(pos));
+    }
+
+    /**
+     * Capture every fact the plan needs right now, without any caches, so it can be scored on another thread.
+     * The returned snapshot has no level; habitats that need one can't be scored from it.
+     * Any level reader works, but dragon breath can only be found in a {@link Level}.
+     */
+    public static HabitatSnapshot detach(LevelReader level, BlockPos pos, HabitatPlan plan)
+    {
+        var snapshot = new HabitatSnapshot(null, pos.immutable(), null,
+                plan.needsNeighborhood()? Neighborhood.scan(level, pos).clone() : null,
+                plan.needsBiome()? level.getBiome(pos) : null,
+                plan.needsLight()? level.getLightEmission(pos) : 0,
+                plan.needsSky() && level.canSeeSky(pos));
+        if (plan.needsBreath()) snapshot.dragonBreath = level instanceof Level l && DragonBreathHabitat.isInDragonBreath(l, pos)? 1 : 0;
+        return snapshot;
+    }
+
+    /**
+     * Null for {@link #detach detached} snapshots.
+     */
+    public Level level()
+    {
+        return level;
+    }
+
+    public BlockPos pos()
+    {
+        return pos;
+    }
+
+    public Holder<Biome> biome()
+    {
+        return biome;
+    }
+
+    public int lightEmission()
+    {
+        return lightEmission;
+    }
+
+    public boolean canSeeSky()
+    {
+        return canSeeSky;
+    }
+
+    /**
+     * @return the amount of blocks in the 3x3x3 neighborhood that are in the given tag.
+     */
+    public int countBlocks(TagKey<Block> tag)
+    {
+        int count = counts.getInt(tag);
+        if (count == -1)
+        {
+            if (cache != null) count = cache.countBlocks(pos, tag);
+            else
+            {
+                count = 0;
+                for (var state : neighborhood) if (TagBitsets.is(state, tag)) count++;
+            }
+            counts.put(tag, count);
+        }
+        return count;
+    }
+
+    /**
+     * @return the amount of fluids in the 3x3x3 neighborhood that are in the given tag.
+     */
+    public int countFluids(TagKey<Fluid> tag)
+    {
+        int count = counts.getInt(tag);
+        if (count == -1)
+        {
+            if (cache != null) count = cache.countFluids(pos, tag);
+            else
+            {
+                count = 0;
+                for (var state : neighborhood) if (TagBitsets.is(state.getFluidState(), tag)) count++;
+            }
+            counts.put(tag, count);
+        }
+        return count;
+    }
+
+    public boolean hasDragonBreath()
+    {
+        if (dragonBreath == -1) dragonBreath = DragonBreathHabitat.isInDragonBreath(level, pos)? 1 : 0;
+        return dragonBreath == 1;
+    }
+}
@@ -22,6 +22,26 @@ public record HeightHabitat(int points, boolean below, int height) implements Ha
         return (below? (y < max && !level.canSeeSky(pos)) : y > max)? points : 0;
     }
 
+    @Override
+    public int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        int y = snapshot.pos().getY();
+        int max = height;
+        return (below? (y < max && !snapshot.canSeeSky()) : y > max)? points : 0;
+    }
+
+    @Override
+    public int maxPoints()
+    {
+        return Math.max(points, 0);
+    }
+
+    @Override
+    public Cost cost()
+    {
+        return below? Cost.MODERATE : Cost.CHEAP; // sky access is a light engine query
+    }
+
     @Override
     public ResourceLocation type()
     {
@@ -21,6 +21,25 @@ public record LightHabitat(int points, boolean below, int light) implements Habi
         return (below? lightEmission < light : lightEmission > light)? points : 0;
     }
 
+    @Override
+    public int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        int lightEmission = snapshot.lightEmission();
+        return (below? lightEmission < light : lightEmission > light)? points : 0;
+    }
+
+    @Override
+    public int maxPoints()
+    {
+        return Math.max(points, 0);
+    }
+
+    @Override
+    public Cost cost()
+    {
+        return Cost.CHEAP;
+    }
+
     @Override
     public ResourceLocation type()
     {
@@ -19,9 +19,27 @@ public record NearbyBlocksHabitat(float multiplier, TagKey<Block> tag) implement
     @Override
     public int getHabitatPoints(Level level, BlockPos basePos)
     {
-        return (int) (BlockPos.betweenClosedStream(basePos.offset(1, 1, 1), basePos.offset(-1, -1, -1))
-                .filter(p -> level.getBlockState(p).is(tag))
-                .count() * multiplier);
+        var cache = HabitatFactCache.of(level);
+        var count = cache != null? cache.countBlocks(basePos, tag) : Neighborhood.countBlocks(level, basePos, tag);
+        return (int) (count * multiplier);
+    }
+
+    @Override
+    public int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        return (int) (snapshot.countBlocks(tag) * multiplier);
+    }
+
+    @Override
+    public int maxPoints()
+    {
+        return Math.max((int) (Neighborhood.SIZE * multiplier), 0);
+    }
+
+    @Override
+    public Cost cost()
+    {
+        return Cost.MODERATE;
     }
 
     @Override
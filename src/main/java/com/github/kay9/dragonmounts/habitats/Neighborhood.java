@@ -0,0 +1,113 @@
+package com.github.kay9.dragonmounts.habitats;
+
+import com.github.kay9.dragonmounts.util.TagBitsets;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.LevelReader;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.material.Fluid;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Allocation-free reads of the 3x3x3 neighborhood around an egg.
+ * <br>
+ * Habitats are scored on every egg random tick, so going through {@code BlockPos.betweenClosedStream}
+ * (a stream pipeline, a lambda and a new position for every block) adds up quickly in large hatcheries.
+ * When the whole cube sits in one loaded chunk (the common case), states are read straight out of the chunk sections.
+ * Otherwise, the cube is walked with a reusable mutable cursor.
+ * <br>
+ * States are written into a per-thread buffer that is reused by the next scan on that thread, so don't hold onto it.
+ */
+public final class Neighborhood
+{
+    public static final int SIZE = 27; // 3x3x3
+
+    private static final ThreadLocal<BlockState[]> BUFFER = ThreadLocal.withInitial(() -> new BlockState[SIZE]);
+    private static final ThreadLocal<BlockPos.MutableBlockPos> CURSOR = ThreadLocal.withInitial(BlockPos.MutableBlockPos::new);
+
+    /**
+     * Read the neighborhood around center.
+     * States are indexed by {@code (dx + 1) * 9 + (dy + 1) * 3 + (dz + 1)}.
+     *
+     * @return a per-thread buffer holding the states. It is overwritten by the next scan.
+     */
+    public static BlockState[] scan(LevelReader level, BlockPos center)
+    {
+        var states = BUFFER.get();
+        int cx = center.getX();
+        int cy = center.getY();
+        int cz = center.getZ();
+        var chunk = getContainingChunk(level, cx, cz);
+
+        for (int dy = -1; dy <= 1; dy++)
+        {
+            int y = cy + dy;
+            if (chunk != null)
+            {
+                var section = getSection(chunk, y);
+                for (int dx = -1; dx <= 1; dx++)
+                    for (int dz = -1; dz <= 1; dz++)
+                        states[index(dx, dy, dz)] = section == null? Blocks.VOID_AIR.defaultBlockState() :
+                                section.getBlockState((cx + dx) & 15, y & 15, (cz + dz) & 15);
+            }
+            else
+            {
+                var cursor = CURSOR.get();
+                for (int dx = -1; dx <= 1; dx++)
+                    for (int dz = -1; dz <= 1; dz++)
+                        states[index(dx, dy, dz)] = level.getBlockState(cursor.set(cx + dx, y, cz + dz));
+            }
+        }
+
+        return states;
+    }
+
+    public static int countBlocks(LevelReader level, BlockPos center, TagKey<Block> tag)
+    {
+        int count = 0;
+        for (var state : scan(level, center)) if (TagBitsets.is(state, tag)) count++;
+        return count;
+    }
+
+    public static int countFluids(LevelReader level, BlockPos center, TagKey<Fluid> tag)
+    {
+        int count = 0;
+        for (var state : scan(level, center)) if (TagBitsets.is(state.getFluidState(), tag)) count++;
+        return count;
+    }
+
+    public static int index(int dx, int dy, int dz)
+    {
+        return (dx + 1) * 9 + (dy + 1) * 3 + (dz + 1);
+    }
+
+    /**
+     * @return the chunk containing the entire neighborhood, or null if it spans multiple chunks or isn't loaded.
+     */
+    @Nullable
+    private static ChunkAccess getContainingChunk(LevelReader level, int x, int z)
+    {
+        int lx = x & 15;
+        int lz = z & 15;
+        if (lx == 0 || lx == 15 || lz == 0 || lz == 15) return null;
+        return level.getChunk(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z), ChunkStatus.FULL, false);
+    }
+
+    /**
+     * @return the section containing y, or null if y is outside the build height. (mirrors Level#getBlockState's void air)
+     */
+    @Nullable
+    private static LevelChunkSection getSection(ChunkAccess chunk, int y)
+    {
+        if (chunk.isOutsideBuildHeight(y)) return null;
+        return chunk.getSection(chunk.getSectionIndex(y));
+    }
+
+    private Neighborhood() {}
+}
@@ -5,6 +5,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.Level;
 
+import java.util.Comparator;
 import java.util.List;
 
 public record PickyHabitat(List<Habitat> habitats) implements Habitat
@@ -12,9 +13,17 @@ public record PickyHabitat(List<Habitat> habitats) implements Habitat
     public static final Codec<PickyHabitat> CODEC = Habitat.CODEC
             .listOf()
             .fieldOf("required_habitats")
-            .xmap(PickyHabitat::new, PickyHabitat::habitats)
+            .xmap(PickyHabitat::cheapestFirst, PickyHabitat::habitats)
             .codec();
 
+    /**
+     * Any zero result fails the whole picky habitat, so check the cheap conditions before the expensive ones.
+     */
+    private static PickyHabitat cheapestFirst(List<Habitat> habitats)
+    {
+        return new PickyHabitat(habitats.stream().sorted(Comparator.comparing(Habitat::cost)).toList());
+    }
+
     @Override
     public int getHabitatPoints(Level level, BlockPos pos)
     {
@@ -28,6 +37,32 @@ public record PickyHabitat(List<Habitat> habitats) implements Habitat
         return points;
     }
 
+    @Override
+    public int getHabitatPoints(HabitatSnapshot snapshot)
+    {
+        int points = 0;
+        for (var habitat : habitats)
+        {
+            int i = habitat.getHabitatPoints(snapshot);
+            if (i == 0) return 0; // ALL habitat conditions must be met. Otherwise, nope.
+            points += i;
+        }
+        return points;
+    }
+
+    @Override
+    public int maxPoints()
+    {
+        // a child bound of 0 doesn't mean it can't be met; negative points still pass
+        return Math.max(HabitatPlan.sumMaxPoints(habitats), 0);
+    }
+
+    @Override
+    public Cost cost()
+    {
+        return habitats.stream().map(Habitat::cost).max(Comparator.naturalOrder()).orElse(Cost.CHEAP);
+    }
+
     @Override
     public ResourceLocation type()
     {
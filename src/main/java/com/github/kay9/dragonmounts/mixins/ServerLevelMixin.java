@@ -0,0 +1,101 @@
+package com.github.kay9.dragonmounts.mixins;
+
+import com.github.kay9.dragonmounts.DragonMountsLegacy;
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.dragon.DragonAgeSync;
+import com.github.kay9.dragonmounts.dragon.ai.DragonMateIndex;
+import com.github.kay9.dragonmounts.dragon.ai.FollowPathCache;
+import com.github.kay9.dragonmounts.dragon.ai.LandingSpotCache;
+import com.github.kay9.dragonmounts.dragon.ai.PathQueue;
+import com.github.kay9.dragonmounts.dragon.egg.EggScheduler;
+import com.github.kay9.dragonmounts.habitats.DragonBreathIndex;
+import com.github.kay9.dragonmounts.habitats.HabitatFactCache;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerLevel.class)
+public class ServerLevelMixin implements ServerLevelAccess
+{
+    @Unique private HabitatFactCache dm_habitatFactCache;
+    @Unique private DragonBreathIndex dm_dragonBreathIndex;
+    @Unique private EggScheduler dm_eggScheduler;
+    @Unique private DragonAgeSync dm_dragonAgeSync;
+    @Unique private DragonMateIndex dm_dragonMateIndex;
+    @Unique private FollowPathCache dm_followPathCache;
+    @Unique private PathQueue dm_pathQueue;
+    @Unique private LandingSpotCache dm_landingSpotCache;
+
+    /**
+     * Purpose: To keep per-level caches in sync with the world
+     * <br>
+     * onBlockStateChange is called for every block that actually changed (after setBlock has settled),
+     * which is exactly when any cached facts about that position go stale.
+     */
+    @Inject(method = "onBlockStateChange(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;Lnet/minecraft/world/level/block/state/BlockState;)V", at = @At("HEAD"))
+    private void dragonmounts_onBlockStateChange(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo cbi)
+    {
+        DragonMountsLegacy.onBlockStateChange((ServerLevel) (Object) this, pos, newState);
+    }
+
+    @Override
+    public HabitatFactCache getHabitatFactCache()
+    {
+        if (dm_habitatFactCache == null) dm_habitatFactCache = new HabitatFactCache((ServerLevel) (Object) this);
+        return dm_habitatFactCache;
+    }
+
+    @Override
+    public DragonBreathIndex getDragonBreathIndex()
+    {
+        if (dm_dragonBreathIndex == null) dm_dragonBreathIndex = new DragonBreathIndex();
+        return dm_dragonBreathIndex;
+    }
+
+    @Override
+    public EggScheduler getEggScheduler()
+    {
+        if (dm_eggScheduler == null) dm_eggScheduler = new EggScheduler((ServerLevel) (Object) this);
+        return dm_eggScheduler;
+    }
+
+    @Override
+    public DragonAgeSync getDragonAgeSync()
+    {
+        if (dm_dragonAgeSync == null) dm_dragonAgeSync = new DragonAgeSync((ServerLevel) (Object) this);
+        return dm_dragonAgeSync;
+    }
+
+    @Override
+    public DragonMateIndex getDragonMateIndex()
+    {
+        if (dm_dragonMateIndex == null) dm_dragonMateIndex = new DragonMateIndex();
+        return dm_dragonMateIndex;
+    }
+
+    @Override
+    public FollowPathCache getFollowPathCache()
+    {
+        if (dm_followPathCache == null) dm_followPathCache = new FollowPathCache((ServerLevel) (Object) this);
+        return dm_followPathCache;
+    }
+
+    @Override
+    public PathQueue getPathQueue()
+    {
+        if (dm_pathQueue == null) dm_pathQueue = new PathQueue();
+        return dm_pathQueue;
+    }
+
+    @Override
+    public LandingSpotCache getLandingSpotCache()
+    {
+        if (dm_landingSpotCache == null) dm_landingSpotCache = new LandingSpotCache((ServerLevel) (Object) this);
+        return dm_landingSpotCache;
+    }
+}
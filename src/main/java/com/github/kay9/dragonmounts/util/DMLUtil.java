@@ -3,6 +3,13 @@ package com.github.kay9.dragonmounts.util;
 import com.github.kay9.dragonmounts.DragonMountsLegacy;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.BooleanOp;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.phys.shapes.VoxelShape;
 
 public class DMLUtil
 {
@@ -17,4 +24,39 @@ public class DMLUtil
             return DataResult.error(() -> String.format("[%s] Hexadecimal Codec error: '%s' is not a valid hex value.", DragonMountsLegacy.MOD_ID, s));
         }
     }, Integer::toHexString);
+
+    /**
+     * Whether any suffocating block overlaps the given box, shrunk by inset on every side.
+     * <br>
+     * Same as checking each block's collision shape against the box, but full cubes (nearly everything)
+     * are tested by their bounds alone, and the box's shape is only made once a partial block turns up.
+     *
+     * @param cursor reused for every position, so this doesn't allocate
+     */
+    public static boolean isSuffocating(BlockGetter level, AABB box, double inset, BlockPos.MutableBlockPos cursor)
+    {
+        double minX = box.minX + inset, minY = box.minY + inset, minZ = box.minZ + inset;
+        double maxX = box.maxX - inset, maxY = box.maxY - inset, maxZ = box.maxZ - inset;
+
+        VoxelShape collider = null; // only needed for partial blocks, which are rare
+        for (int x = Mth.floor(minX); x <= Mth.floor(maxX); x++)
+            for (int y = Mth.floor(minY); y <= Mth.floor(maxY); y++)
+                for (int z = Mth.floor(minZ); z <= Mth.floor(maxZ); z++)
+                {
+                    var state = level.getBlockState(cursor.set(x, y, z));
+                    if (state.isAir() || !state.isSuffocating(level, cursor)) continue;
+
+                    var shape = state.getCollisionShape(level, cursor);
+                    if (shape == Shapes.block()) // full cubes just need to overlap the collider
+                    {
+                        if (x < maxX && x + 1 > minX && y < maxY && y + 1 > minY && z < maxZ && z + 1 > minZ) return true;
+                        continue;
+                    }
+                    if (shape.isEmpty()) continue;
+
+                    if (collider == null) collider = Shapes.box(minX, minY, minZ, maxX, maxY, maxZ);
+                    if (Shapes.joinIsNotEmpty(shape.move(x, y, z), collider, BooleanOp.AND)) return true;
+                }
+        return false;
+    }
 }
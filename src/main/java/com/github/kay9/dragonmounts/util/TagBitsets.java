@@ -0,0 +1,73 @@
+package com.github.kay9.dragonmounts.util;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.IdMapper;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.FluidState;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Tag membership of every block state (and fluid state) in a tag, precomputed into a bitset indexed by state id.
+ * <br>
+ * Checking a state against a tag normally goes through its holder's tag set. For the tags we check in hot loops
+ * (habitats, reaper footprints), this turns that into an id lookup and a bit test instead.
+ * Rebuilt whenever tags are reloaded; tags that weren't precomputed fall back to the regular check.
+ */
+public final class TagBitsets
+{
+    private static volatile Map<TagKey<Block>, long[]> blockTags = Map.of();
+    private static volatile Map<TagKey<Fluid>, long[]> fluidTags = Map.of();
+
+    public static boolean is(BlockState state, TagKey<Block> tag)
+    {
+        var bits = blockTags.get(tag);
+        return bits == null? state.is(tag) : test(bits, Block.BLOCK_STATE_REGISTRY.getId(state));
+    }
+
+    public static boolean is(FluidState state, TagKey<Fluid> tag)
+    {
+        var bits = fluidTags.get(tag);
+        return bits == null? state.is(tag) : test(bits, Fluid.FLUID_STATE_REGISTRY.getId(state));
+    }
+
+    /**
+     * Precompute the given tags, replacing whatever was computed before. Tag contents must be bound by now.
+     */
+    public static void rebuild(Collection<TagKey<Block>> blocks, Collection<TagKey<Fluid>> fluids)
+    {
+        blockTags = compute(blocks, Block.BLOCK_STATE_REGISTRY, BlockState::is);
+        fluidTags = compute(fluids, Fluid.FLUID_STATE_REGISTRY, FluidState::is);
+    }
+
+    private static <S, T> Map<TagKey<T>, long[]> compute(Collection<TagKey<T>> tags, IdMapper<S> states, BiPredicate<S, TagKey<T>> isIn)
+    {
+        var map = new Reference2ObjectOpenHashMap<TagKey<T>, long[]>(tags.size());
+        for (var tag : tags)
+        {
+            var bits = new long[(states.size() + 63) >> 6];
+            for (var state : states)
+            {
+                if (!isIn.test(state, tag)) continue;
+                int id = states.getId(state);
+                if ((id >> 6) >= bits.length) bits = Arrays.copyOf(bits, (id >> 6) + 1); // ids aren't guaranteed to be dense
+                bits[id >> 6] |= 1L << id;
+            }
+            map.put(tag, bits);
+        }
+        return map;
+    }
+
+    private static boolean test(long[] bits, int id)
+    {
+        return id >= 0 && (id >> 6) < bits.length && (bits[id >> 6] & (1L << id)) != 0;
+    }
+
+    private TagBitsets() {}
+}
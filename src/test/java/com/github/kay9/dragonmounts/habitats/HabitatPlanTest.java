@@ -0,0 +1,218 @@
+package com.github.kay9.dragonmounts.habitats;
+
+import com.github.kay9.dragonmounts.DragonMountsLegacy;
+import com.github.kay9.dragonmounts.accessors.ServerLevelAccess;
+import com.github.kay9.dragonmounts.benchmark.SyntheticBreeds;
+import com.github.kay9.dragonmounts.benchmark.SyntheticLevel;
+import com.github.kay9.dragonmounts.benchmark.SyntheticWorld;
+import com.github.kay9.dragonmounts.dragon.DragonAgeSync;
+import com.github.kay9.dragonmounts.dragon.ai.DragonMateIndex;
+import com.github.kay9.dragonmounts.dragon.ai.FollowPathCache;
+import com.github.kay9.dragonmounts.dragon.ai.LandingSpotCache;
+import com.github.kay9.dragonmounts.dragon.ai.PathQueue;
+import com.github.kay9.dragonmounts.dragon.breed.BreedRegistry;
+import com.github.kay9.dragonmounts.dragon.breed.DragonBreed;
+import com.github.kay9.dragonmounts.dragon.egg.EggScheduler;
+import net.minecraft.SharedConstants;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every way an egg can update its habitat picks the same breed as scoring every habitat of every breed
+ * against the level directly, the way eggs did before the {@link HabitatPlan}:
+ * <br>
+ * - synchronous: {@code plan.findBestBreed(level, pos, minPoints)}, capturing the snapshot from the level.
+ * <br>
+ * - asynchronous: a {@link HabitatSnapshot#detach detached} snapshot, scored on the background executor.
+ * <br>
+ * - both of the above on a level with a {@link HabitatFactCache}, like server levels have, including after blocks
+ * around the egg change.
+ * <br>
+ * Positions cover the surface, the air above it, underground, the build height limits and chunk edges, over several
+ * minimum scores.
+ */
+class HabitatPlanTest
+{
+    private static final int[] HORIZONTAL = {-17, -16, -1, 0, 5, 15, 16, 31};
+    private static final int[] VERTICAL = {-64, -30, 0, SyntheticLevel.SURFACE - 1, SyntheticLevel.SURFACE, SyntheticLevel.SURFACE + 1, SyntheticLevel.SURFACE + 2, 250, 319};
+    private static final int[] MIN_POINTS = {0, 1, 2, 3, 5};
+
+    private static HabitatPlan plan;
+    private static Registry<DragonBreed> breeds;
+
+    @BeforeAll
+    static void bootstrap()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        SyntheticLevel.bindTags();
+
+        var registries = SyntheticBreeds.create();
+        plan = HabitatPlan.get(registries);
+        breeds = BreedRegistry.registry(registries);
+    }
+
+    @Test
+    void modesAgree()
+    {
+        var terrain = new SyntheticLevel();
+        var level = new SyntheticWorld(terrain);
+        var cached = new CachedWorld(terrain);
+        var winners = new HashSet<DragonBreed>();
+
+        for (int x : HORIZONTAL)
+            for (int z : HORIZONTAL)
+                for (int y : VERTICAL)
+                {
+                    var pos = new BlockPos(x, y, z);
+                    for (int minPoints : MIN_POINTS)
+                    {
+                        var expected = scoreDirectly(level, pos, minPoints);
+                        assertModesAgree(expected, level, pos, minPoints);
+                        assertModesAgree(expected, cached, pos, minPoints);
+                        if (expected != null) winners.add(expected);
+                    }
+                }
+
+        // all nulls (or one breed everywhere) would agree without scoring anything
+        assertTrue(winners.size() >= 2, () -> "Vacuous, only found winners " + winners.stream().map(HabitatPlanTest::name).toList());
+    }
+
+    @Test
+    void cacheFollowsBlockChanges()
+    {
+        var terrain = new SyntheticLevel();
+        var level = new SyntheticWorld(terrain);
+        var cached = new CachedWorld(terrain);
+        var pos = new BlockPos(15, -30, 15); // neighborhood spans chunks and sections
+        var water = breeds.get(DragonMountsLegacy.id("water"));
+
+        assertModesAgree(scoreDirectly(level, pos, 0), cached, pos, 0); // fills the cache
+        assertNotEquals(water, plan.findBestBreed(cached, pos, 0), "Already water, so changing blocks proves nothing");
+        int version = cached.cache.trackVersion(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ()));
+
+        // flood the neighborhood, telling the cache the way ServerLevelMixin does
+        var state = Blocks.WATER.defaultBlockState();
+        for (var p : BlockPos.betweenClosed(pos.offset(-1, -1, -1), pos.offset(1, 1, 1)))
+        {
+            var chunk = cached.getChunkAt(p);
+            chunk.getSection(chunk.getSectionIndex(p.getY())).setBlockState(p.getX() & 15, p.getY() & 15, p.getZ() & 15, state);
+            cached.cache.onBlockChanged(p, state);
+        }
+
+        assertNotEquals(version, cached.cache.trackVersion(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ())));
+        assertEquals(water, scoreDirectly(level, pos, 0));
+        assertModesAgree(water, cached, pos, 0);
+    }
+
+    private static void assertModesAgree(@Nullable DragonBreed expected, Level level, BlockPos pos, int minPoints)
+    {
+        var sync = plan.findBestBreed(level, pos, minPoints);
+        var snapshot = HabitatSnapshot.detach(level, pos, plan);
+        var async = CompletableFuture.supplyAsync(() -> plan.findBestBreed(snapshot, minPoints), Util.backgroundExecutor()).join();
+
+        var where = String.format(" at %s (min points %s, %s)", pos.toShortString(), minPoints, level instanceof CachedWorld? "cached" : "uncached");
+        assertEquals(name(expected), name(sync), "sync" + where);
+        assertEquals(name(expected), name(async), "async" + where);
+    }
+
+    /**
+     * Every habitat of every breed against the level, ties going to registry order.
+     */
+    @Nullable
+    private static DragonBreed scoreDirectly(SyntheticWorld level, BlockPos pos, int minPoints)
+    {
+        DragonBreed winner = null;
+        int prevPoints = 0;
+        for (var breed : breeds)
+        {
+            int points = 0;
+            for (Habitat habitat : breed.habitats()) points += habitat.getHabitatPoints(level, pos);
+            if (points > minPoints && points > prevPoints)
+            {
+                winner = breed;
+                prevPoints = points;
+            }
+        }
+        return winner;
+    }
+
+    private static String name(@Nullable DragonBreed breed)
+    {
+        return breed == null? "none" : String.valueOf(breeds.getKey(breed));
+    }
+
+    /**
+     * Has a habitat fact cache the way the server level mixin gives one to server levels.
+     */
+    private static class CachedWorld extends SyntheticWorld implements ServerLevelAccess
+    {
+        private final HabitatFactCache cache = new HabitatFactCache(this);
+
+        private CachedWorld(SyntheticLevel terrain)
+        {
+            super(terrain);
+        }
+
+        @Override
+        public HabitatFactCache getHabitatFactCache()
+        {
+            return cache;
+        }
+
+        @Override
+        public DragonBreathIndex getDragonBreathIndex()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EggScheduler getEggScheduler()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DragonAgeSync getDragonAgeSync()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DragonMateIndex getDragonMateIndex()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FollowPathCache getFollowPathCache()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PathQueue getPathQueue()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LandingSpotCache getLandingSpotCache()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}